@@ -21,7 +21,6 @@ import ax.stardust.skvirrel.fragment.StockFragment;
 import ax.stardust.skvirrel.monitoring.StockMonitoring;
 import ax.stardust.skvirrel.persistence.DatabaseManager;
 import ax.stardust.skvirrel.service.ServiceParams;
-import ax.stardust.skvirrel.cache.CacheManager;
 import timber.log.Timber;
 
 /**
@@ -36,7 +35,6 @@ public class Skvirrel extends AppCompatActivity {
     private NumericKeyboard numericKeyboard;
 
     private DatabaseManager databaseManager;
-    private CacheManager cacheManager;
 
     private Button addStockMonitoringButton;
 
@@ -56,14 +54,6 @@ public class Skvirrel extends AppCompatActivity {
         toggleGettingStartedTextView();
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-
-        // suitable place to maintain indicator cache a bit
-        getCacheManager().cleanIndicatorCache();
-    }
-
     @Override
     public void onBackPressed() {
         if (alphanumericKeyboard.getVisibility() == View.VISIBLE
@@ -152,13 +142,6 @@ public class Skvirrel extends AppCompatActivity {
         return databaseManager;
     }
 
-    private CacheManager getCacheManager() {
-        if (cacheManager == null) {
-            cacheManager = new CacheManager(this);
-        }
-        return cacheManager;
-    }
-
     @Override
     @SuppressWarnings("deprecation")
     protected void onActivityResult(int requestCode, int resultCode, Intent data) {
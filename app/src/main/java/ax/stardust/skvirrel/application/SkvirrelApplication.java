@@ -17,8 +17,11 @@ import org.jetbrains.annotations.NotNull;
 import ax.stardust.skvirrel.BuildConfig;
 import ax.stardust.skvirrel.R;
 import ax.stardust.skvirrel.activity.SkvirrelCrashReportDialog;
+import ax.stardust.skvirrel.log.SkvirrelLog;
 import ax.stardust.skvirrel.notification.NotificationHandler;
+import ax.stardust.skvirrel.persistence.DatabaseHelper;
 import ax.stardust.skvirrel.persistence.DatabaseManager;
+import ax.stardust.skvirrel.schedule.CacheCompactionScheduler;
 import ax.stardust.skvirrel.schedule.MonitoringScheduler;
 import lombok.SneakyThrows;
 import timber.log.Timber;
@@ -52,14 +55,28 @@ public class SkvirrelApplication extends Application {
             Timber.plant(new ProductionTree());
         }
 
-        // create notification handler and schedule monitoring job
+        // let the logging of core go through timber
+        SkvirrelLog.setLogger(new TimberLogger());
+
+        // create the process wide database helper, connection is opened on first use
+        DatabaseHelper.getInstance(this);
+
+        // create notification handler and schedule monitoring and cache compaction jobs
         NotificationHandler.createNotificationChannel(this);
         MonitoringScheduler.scheduleJob(this);
+        CacheCompactionScheduler.scheduleJob(this);
 
         // some house keeping if needed
         addMissingMonitoringsIfNeeded();
     }
 
+    @Override
+    public void onTerminate() {
+        // only called in emulated environments, on devices the process is simply killed
+        DatabaseHelper.closeInstance();
+        super.onTerminate();
+    }
+
     @Override
     protected void attachBaseContext(Context base) {
         super.attachBaseContext(base);
@@ -127,4 +144,20 @@ public class SkvirrelApplication extends Application {
             }
         }
     }
+
+    /**
+     * Logger of core delegating all logging to timber.
+     */
+    private static class TimberLogger implements SkvirrelLog.Logger {
+
+        @Override
+        public void w(String message, Object... args) {
+            Timber.w(message, args);
+        }
+
+        @Override
+        public void e(Throwable t, String message, Object... args) {
+            Timber.e(t, message, args);
+        }
+    }
 }
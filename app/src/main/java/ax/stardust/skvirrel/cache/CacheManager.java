@@ -4,11 +4,18 @@ import android.content.Context;
 
 import androidx.annotation.NonNull;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import ax.stardust.skvirrel.persistence.DatabaseManager;
+import ax.stardust.skvirrel.service.ServiceParams;
 import lombok.RequiredArgsConstructor;
 import timber.log.Timber;
+import yahoofinance.Stock;
+import yahoofinance.histquotes.HistoricalQuote;
+import yahoofinance.histquotes.Interval;
 
 /**
  * Manager for caches within application.
@@ -16,13 +23,27 @@ import timber.log.Timber;
 @RequiredArgsConstructor
 public class CacheManager {
 
+    /**
+     * Refresh of an indicator cache, may fail with an {@link IOException}.
+     */
+    public interface IndicatorRefresh {
+        IndicatorCache refresh(IndicatorCache indicatorCache) throws IOException;
+    }
+
+    // maximum number of tickers whose rows are deleted from each cache table per compaction
+    static final int MAX_COMPACTION_TICKERS = 20;
+
+    // refreshes of indicator caches in flight, shared within the process
+    private static final SingleFlight<String, IndicatorCache> INDICATOR_REFRESHES = new SingleFlight<>();
+
     private final Context context;
 
     private DatabaseManager databaseManager;
 
     /**
-     * To get indicator cache for given ticker. If an indicator cache doesn't exists in the database
-     * already a new one is created and inserted
+     * To get indicator cache for given ticker. A valid indicator cache held in memory is returned
+     * without touching the database, else it's fetched from the database. If an indicator cache
+     * doesn't exists in the database already a new one is created and inserted
      *
      * @param ticker ticker for which indicator cache is to be resolved
      *
@@ -31,12 +52,22 @@ public class CacheManager {
     public IndicatorCache getIndicatorCache(@NonNull String ticker) {
         Timber.d("Getting indicator cache for ticker: %s", ticker);
 
-        IndicatorCache indicatorCache = getDatabaseManager().fetchIndicatorCacheForTicker(ticker);
+        IndicatorCache indicatorCache = getIndicatorMemoryCache().get(ticker);
+        if (indicatorCache != null) {
+            recordLookup(indicatorCache);
+            return indicatorCache;
+        }
+
+        indicatorCache = getDatabaseManager().fetchIndicatorCacheForTicker(ticker);
         if (indicatorCache == null) {
             Timber.d("No indicator cache exists for ticker: %s, creating a new one", ticker);
+            getCacheMetrics().recordIndicatorMiss();
             indicatorCache = getDatabaseManager().insert(new IndicatorCache(ticker));
+        } else {
+            recordLookup(indicatorCache);
         }
 
+        getIndicatorMemoryCache().put(indicatorCache);
         return indicatorCache;
     }
 
@@ -49,29 +80,127 @@ public class CacheManager {
      */
     public IndicatorCache updateIndicatorCache(@NonNull IndicatorCache indicatorCache) {
         Timber.d("Updating indicator cache with ticker: %s", indicatorCache.getTicker());
-        return getDatabaseManager().update(indicatorCache);
+        IndicatorCache updatedIndicatorCache = getDatabaseManager().update(indicatorCache);
+
+        // write through to memory
+        getIndicatorMemoryCache().put(updatedIndicatorCache);
+        return updatedIndicatorCache;
     }
 
     /**
-     * To clean indicator cache from cache entries that are not needed anymore
+     * To refresh indicator cache for given ticker with given refresh, the refreshed indicator
+     * cache is updated. Only one refresh per ticker is made at a time, concurrent callers wait
+     * for and get the result of the refresh in flight. An indicator cache that has already been
+     * refreshed by someone else when the refresh starts is returned as it is
+     *
+     * @param ticker  ticker of indicator cache to refresh
+     * @param refresh refresh to make
+     *
+     * @return refreshed indicator cache
+     * @throws IOException if data needed by the refresh couldn't be fetched
      */
-    public void cleanIndicatorCache() {
-        Timber.d("Cleaning indicator cache");
-
-        ArrayList<String> tickersForMonitoring = getDatabaseManager().fetchAllTickersForMonitoring();
-
-        // go though all existing indicator caches and compare with tickers that are up for monitoring
-        // if the list of tickers for monitoring doesn't contain ticker of indicator cache then
-        // it is removed
-        getDatabaseManager().fetchAllIndicatorCaches().forEach(indicatorCache -> {
-            if (!tickersForMonitoring.contains(indicatorCache.getTicker())) {
-                Timber.d("No active stock monitoring exists for ticker: %s, deleting it's indicator cache",
-                        indicatorCache.getTicker());
-                getDatabaseManager().delete(indicatorCache);
+    public IndicatorCache refreshIndicatorCache(@NonNull String ticker, @NonNull IndicatorRefresh refresh) throws IOException {
+        return INDICATOR_REFRESHES.execute(ticker, () -> {
+            IndicatorCache indicatorCache = getIndicatorCache(ticker);
+            if (!indicatorCache.needsRefresh()) {
+                Timber.d("Indicator cache for ticker: %s has already been refreshed", ticker);
+                return indicatorCache;
+            }
+
+            long start = System.nanoTime();
+            try {
+                return updateIndicatorCache(refresh.refresh(indicatorCache));
+            } finally {
+                getCacheMetrics().recordRefresh(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
             }
         });
     }
 
+    /**
+     * To get daily historical quotes of given stock from {@link ServiceParams#DAYS_OF_HISTORY} days
+     * back. Historical quotes are stored locally, so only the days since the last stored day are
+     * fetched from yahoo finance and appended to the stored price history
+     *
+     * @param stock stock for which historical quotes are to be resolved
+     *
+     * @return historical quotes of stock, oldest quote first
+     * @throws IOException if historical quotes couldn't be fetched from yahoo finance
+     */
+    public List<HistoricalQuote> getPriceHistory(@NonNull Stock stock) throws IOException {
+        String ticker = stock.getSymbol();
+        Timber.d("Getting price history for ticker: %s", ticker);
+
+        Calendar from = Calendar.getInstance();
+        from.add(Calendar.DATE, ServiceParams.DAYS_OF_HISTORY);
+
+        PriceHistory priceHistory = getDatabaseManager().fetchPriceHistoryForTicker(ticker);
+        Calendar fetchFrom = priceHistory.resolveFetchFrom(from);
+
+        List<HistoricalQuote> fetchedHistoricalQuotes = stock.getHistory(fetchFrom, Interval.DAILY);
+        Timber.d("Fetched %s historical quotes for ticker: %s", fetchedHistoricalQuotes.size(), ticker);
+        getCacheMetrics().recordDownload(fetchedHistoricalQuotes.size());
+
+        priceHistory = priceHistory.append(fetchedHistoricalQuotes, from);
+        return getDatabaseManager().update(priceHistory, fetchFrom).getHistoricalQuotes();
+    }
+
+    /**
+     * To get cached company name for given ticker
+     *
+     * @param ticker ticker for which company name is to be resolved
+     *
+     * @return company name, either known or unknown, or null if no valid company name is cached
+     */
+    public CompanyName getCompanyName(@NonNull String ticker) {
+        CompanyName companyName = getDatabaseManager().fetchCompanyNameForTicker(ticker);
+        return companyName != null && !companyName.hasExpired() ? companyName : null;
+    }
+
+    /**
+     * To cache given company name, replaces any company name already cached for the ticker
+     *
+     * @param companyName company name to cache
+     */
+    public void putCompanyName(@NonNull CompanyName companyName) {
+        Timber.d("Caching %s company name for ticker: %s",
+                companyName.isKnown() ? "known" : "unknown", companyName.getTicker());
+        getDatabaseManager().update(companyName);
+    }
+
+    /**
+     * To compact caches from entries that are not needed anymore, that is cached data of tickers
+     * without active stock monitoring and expired company names. Deletes are done set based and bounded
+     * by {@link #MAX_COMPACTION_TICKERS} per table, anything left is taken care of by next compaction
+     *
+     * @return number of cache rows deleted
+     */
+    public int compactCaches() {
+        Timber.d("Compacting caches");
+
+        int deleted = getDatabaseManager().deleteUnusedCacheRows(MAX_COMPACTION_TICKERS);
+        if (deleted > 0) {
+            // cheaper to let memory cache fill up again than to find out which entries went away
+            getIndicatorMemoryCache().clear();
+        }
+        return deleted;
+    }
+
+    private void recordLookup(IndicatorCache indicatorCache) {
+        if (indicatorCache.needsRefresh()) {
+            getCacheMetrics().recordIndicatorExpiredHit();
+        } else {
+            getCacheMetrics().recordIndicatorHit();
+        }
+    }
+
+    private CacheMetrics getCacheMetrics() {
+        return CacheMetrics.getInstance();
+    }
+
+    private IndicatorMemoryCache getIndicatorMemoryCache() {
+        return IndicatorMemoryCache.getInstance();
+    }
+
     private DatabaseManager getDatabaseManager() {
         if (databaseManager == null) {
             databaseManager = new DatabaseManager(context);
@@ -0,0 +1,192 @@
+package ax.stardust.skvirrel.cache;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Process wide counters and timers of the caches within application, to be able to tune time to
+ * live of caches from data. Metrics are kept in memory since start of the process and can be
+ * queried or dumped as text into the debug log.
+ * <br/>
+ * Indicator cache lookups are either hits, expired hits (cache found but needs to be refreshed)
+ * or misses (no cache found). Duration of indicator cache refreshes are kept in a histogram with
+ * upper bounds given by {@link #REFRESH_DURATION_BUCKETS}, the last bucket holds anything slower.
+ */
+public class CacheMetrics {
+
+    // upper bounds in milliseconds of refresh duration histogram buckets
+    static final long[] REFRESH_DURATION_BUCKETS = {50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private static final CacheMetrics INSTANCE = new CacheMetrics();
+
+    // indicator cache lookups
+    private long indicatorHits;
+    private long indicatorExpiredHits;
+    private long indicatorMisses;
+
+    // indicator cache refreshes
+    private long refreshes;
+    private long refreshDurationTotal;
+    private final long[] refreshDurations = new long[REFRESH_DURATION_BUCKETS.length + 1];
+
+    // historical quotes downloaded from yahoo finance by refreshes
+    private long downloads;
+    private long downloadedQuotes;
+
+    CacheMetrics() {
+        // use getInstance() outside of tests
+    }
+
+    /**
+     * To get singleton instance of cache metrics
+     *
+     * @return singleton instance of cache metrics
+     */
+    public static CacheMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records lookup of a valid indicator cache
+     */
+    public synchronized void recordIndicatorHit() {
+        indicatorHits++;
+    }
+
+    /**
+     * Records lookup of an indicator cache that needs to be refreshed
+     */
+    public synchronized void recordIndicatorExpiredHit() {
+        indicatorExpiredHits++;
+    }
+
+    /**
+     * Records lookup of an indicator cache that didn't exist
+     */
+    public synchronized void recordIndicatorMiss() {
+        indicatorMisses++;
+    }
+
+    /**
+     * Records a refresh of an indicator cache
+     *
+     * @param durationMillis duration of refresh in milliseconds
+     */
+    public synchronized void recordRefresh(long durationMillis) {
+        refreshes++;
+        refreshDurationTotal += durationMillis;
+        refreshDurations[resolveBucket(durationMillis)]++;
+    }
+
+    /**
+     * Records a download of historical quotes from yahoo finance
+     *
+     * @param quotes number of historical quotes downloaded
+     */
+    public synchronized void recordDownload(int quotes) {
+        downloads++;
+        downloadedQuotes += quotes;
+    }
+
+    /**
+     * To get number of lookups of a valid indicator cache since start
+     *
+     * @return number of lookups of a valid indicator cache
+     */
+    public synchronized long getIndicatorHits() {
+        return indicatorHits;
+    }
+
+    /**
+     * To get number of lookups of an indicator cache that needed to be refreshed since start
+     *
+     * @return number of lookups of an indicator cache that needed to be refreshed
+     */
+    public synchronized long getIndicatorExpiredHits() {
+        return indicatorExpiredHits;
+    }
+
+    /**
+     * To get number of lookups of an indicator cache that didn't exist since start
+     *
+     * @return number of lookups of an indicator cache that didn't exist
+     */
+    public synchronized long getIndicatorMisses() {
+        return indicatorMisses;
+    }
+
+    /**
+     * To get number of indicator cache refreshes since start
+     *
+     * @return number of indicator cache refreshes
+     */
+    public synchronized long getRefreshes() {
+        return refreshes;
+    }
+
+    /**
+     * To get number of downloads of historical quotes since start
+     *
+     * @return number of downloads of historical quotes
+     */
+    public synchronized long getDownloads() {
+        return downloads;
+    }
+
+    /**
+     * To get number of historical quotes downloaded since start
+     *
+     * @return number of historical quotes downloaded
+     */
+    public synchronized long getDownloadedQuotes() {
+        return downloadedQuotes;
+    }
+
+    /**
+     * To get histogram of refresh durations, one count per bucket of
+     * {@link #REFRESH_DURATION_BUCKETS} and a last count of slower refreshes
+     *
+     * @return copy of refresh duration histogram
+     */
+    public synchronized long[] getRefreshDurations() {
+        return Arrays.copyOf(refreshDurations, refreshDurations.length);
+    }
+
+    /**
+     * To dump metrics as text, together with the metrics kept by {@link IndicatorMemoryCache}
+     * and {@link QuoteCache}
+     *
+     * @return metrics as text, one metric per line
+     */
+    public synchronized String dump() {
+        StringBuilder dump = new StringBuilder();
+        dump.append(String.format(Locale.ROOT, "Indicator cache: %d hits, %d expired hits, %d misses%n",
+                indicatorHits, indicatorExpiredHits, indicatorMisses));
+        dump.append(String.format(Locale.ROOT, "Indicator memory cache: %d entries, %d evictions%n",
+                IndicatorMemoryCache.getInstance().size(), IndicatorMemoryCache.getInstance().getEvictions()));
+        dump.append(String.format(Locale.ROOT, "Quote cache: %d hits, %d misses%n",
+                QuoteCache.getInstance().getHits(), QuoteCache.getInstance().getMisses()));
+        dump.append(String.format(Locale.ROOT, "Refreshes: %d, average %d ms%n",
+                refreshes, refreshes > 0 ? refreshDurationTotal / refreshes : 0));
+
+        for (int i = 0; i < refreshDurations.length; i++) {
+            String bucket = i < REFRESH_DURATION_BUCKETS.length
+                    ? "<= " + REFRESH_DURATION_BUCKETS[i] + " ms"
+                    : "> " + REFRESH_DURATION_BUCKETS[REFRESH_DURATION_BUCKETS.length - 1] + " ms";
+            dump.append(String.format(Locale.ROOT, "  %s: %d%n", bucket, refreshDurations[i]));
+        }
+
+        dump.append(String.format(Locale.ROOT, "Downloads: %d, %d historical quotes",
+                downloads, downloadedQuotes));
+        return dump.toString();
+    }
+
+    private static int resolveBucket(long durationMillis) {
+        for (int i = 0; i < REFRESH_DURATION_BUCKETS.length; i++) {
+            if (durationMillis <= REFRESH_DURATION_BUCKETS[i]) {
+                return i;
+            }
+        }
+        return REFRESH_DURATION_BUCKETS.length;
+    }
+}
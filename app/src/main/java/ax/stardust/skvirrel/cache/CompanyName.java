@@ -0,0 +1,74 @@
+package ax.stardust.skvirrel.cache;
+
+import lombok.Getter;
+
+/**
+ * Cached company name of a ticker. Tickers not found at yahoo finance are cached as well, but
+ * without company name and for a shorter time, as they might become valid.
+ */
+@Getter
+public class CompanyName {
+
+    // time to live in milliseconds for known and unknown tickers
+    static final long TIME_TO_LIVE_KNOWN = 30L * 24 * 60 * 60 * 1000;
+    static final long TIME_TO_LIVE_UNKNOWN = 24L * 60 * 60 * 1000;
+
+    private final String ticker;
+
+    // null if ticker is unknown
+    private final String name;
+
+    private final long expires;
+
+    /**
+     * Creates a new company name
+     *
+     * @param ticker  ticker of company
+     * @param name    name of company, null if ticker is unknown
+     * @param expires time company name expires in milliseconds
+     */
+    public CompanyName(String ticker, String name, long expires) {
+        this.ticker = ticker;
+        this.name = name;
+        this.expires = expires;
+    }
+
+    /**
+     * Creates a company name of a ticker found at yahoo finance
+     *
+     * @param ticker ticker of company
+     * @param name   name of company
+     * @return company name of known ticker
+     */
+    public static CompanyName known(String ticker, String name) {
+        return new CompanyName(ticker, name, System.currentTimeMillis() + TIME_TO_LIVE_KNOWN);
+    }
+
+    /**
+     * Creates a company name of a ticker not found at yahoo finance
+     *
+     * @param ticker ticker not found
+     * @return company name of unknown ticker
+     */
+    public static CompanyName unknown(String ticker) {
+        return new CompanyName(ticker, null, System.currentTimeMillis() + TIME_TO_LIVE_UNKNOWN);
+    }
+
+    /**
+     * To find out if ticker was found at yahoo finance
+     *
+     * @return true if ticker is known else false
+     */
+    public boolean isKnown() {
+        return name != null;
+    }
+
+    /**
+     * To find out if this company name has expired or not
+     *
+     * @return true if company name has expired else false
+     */
+    public boolean hasExpired() {
+        return expires <= System.currentTimeMillis();
+    }
+}
@@ -1,34 +1,53 @@
 package ax.stardust.skvirrel.cache;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import ax.stardust.skvirrel.BuildConfig;
+import ax.stardust.skvirrel.stock.indicator.ExponentialMovingAverage;
+import ax.stardust.skvirrel.stock.indicator.IndicatorSpec;
+import ax.stardust.skvirrel.stock.indicator.RelativeStrengthIndex;
+import ax.stardust.skvirrel.stock.indicator.SimpleMovingAverage;
 import ax.stardust.skvirrel.util.SkvirrelUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
- * Small cache of some indicator values.
+ * Small cache of some indicator values, keyed by indicator specification.
  */
 @Getter
 @Setter
 public class IndicatorCache {
 
-    // time to live for this cache in minutes
+    // time to live for this cache in minutes, while trading session is open
     private static final int TIME_TO_LIVE_DEBUG = 10;
     private static final int TIME_TO_LIVE_RELEASE = 60;
 
+    // indicators that must be cached for the cache to be complete
+    public static final IndicatorSpec SMA_50_CLOSE = IndicatorSpec.sma(SimpleMovingAverage.DEFAULT_PERIOD);
+    public static final IndicatorSpec EMA_50_CLOSE = IndicatorSpec.ema(ExponentialMovingAverage.DEFAULT_PERIOD);
+    public static final IndicatorSpec RSI_14_CLOSE = IndicatorSpec.rsi(RelativeStrengthIndex.DEFAULT_PERIOD);
+    public static final List<IndicatorSpec> INDICATOR_SPECS = Collections.unmodifiableList(
+            Arrays.asList(SMA_50_CLOSE, EMA_50_CLOSE, RSI_14_CLOSE));
+
     private long id;
 
     private String ticker;
 
-    private double sma = SkvirrelUtils.UNSET;
-    private double ema = SkvirrelUtils.UNSET;
-    private double rsi = SkvirrelUtils.UNSET;
+    @Getter(AccessLevel.NONE)
+    private final Map<IndicatorSpec, Double> values = new HashMap<>();
 
     private Timestamp expires = null;
 
+    // state of streaming indicators, makes it possible to recalculate values without history
+    private IndicatorState indicatorState = null;
+
     /**
      * Creates a new indicator cache with given ticker
      *
@@ -49,10 +68,87 @@ public class IndicatorCache {
         this.id = id;
     }
 
+    /**
+     * Creates a copy of given indicator cache, the indicator state is shared as it isn't modified
+     * once built
+     *
+     * @param indicatorCache indicator cache to copy
+     */
+    IndicatorCache(IndicatorCache indicatorCache) {
+        this(indicatorCache.getId(), indicatorCache.getTicker());
+        this.values.putAll(indicatorCache.getValues());
+        this.expires = indicatorCache.getExpires();
+        this.indicatorState = indicatorCache.getIndicatorState();
+    }
+
+    /**
+     * To get cached value of given indicator
+     *
+     * @param indicatorSpec specification of indicator
+     * @return cached value or {@link SkvirrelUtils#UNSET} if not cached
+     */
+    public double getValue(IndicatorSpec indicatorSpec) {
+        return values.getOrDefault(indicatorSpec, SkvirrelUtils.UNSET);
+    }
+
+    /**
+     * Sets cached value of given indicator
+     *
+     * @param indicatorSpec specification of indicator
+     * @param value         value of indicator
+     */
+    public void setValue(IndicatorSpec indicatorSpec, double value) {
+        values.put(indicatorSpec, value);
+    }
+
+    /**
+     * To get all cached indicator values
+     *
+     * @return unmodifiable view of indicator values by indicator specification
+     */
+    public Map<IndicatorSpec, Double> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    public double getSma() {
+        return getValue(SMA_50_CLOSE);
+    }
+
+    public void setSma(double sma) {
+        setValue(SMA_50_CLOSE, sma);
+    }
+
+    public double getEma() {
+        return getValue(EMA_50_CLOSE);
+    }
+
+    public void setEma(double ema) {
+        setValue(EMA_50_CLOSE, ema);
+    }
+
+    public double getRsi() {
+        return getValue(RSI_14_CLOSE);
+    }
+
+    public void setRsi(double rsi) {
+        setValue(RSI_14_CLOSE, rsi);
+    }
+
     public void setExpires(Date expires) {
         this.expires = new Timestamp(expires.getTime() + resolveTimeToLive());
     }
 
+    /**
+     * Sets expiration of this cache with the trading session of the exchange taken into account,
+     * see {@link MarketSession#resolveExpires(long, long)}
+     *
+     * @param now           time values of this cache were calculated
+     * @param marketSession trading session of the exchange
+     */
+    public void setExpires(Date now, MarketSession marketSession) {
+        this.expires = new Timestamp(marketSession.resolveExpires(now.getTime(), resolveTimeToLive()));
+    }
+
     public void setExpires(long timeInMilliseconds) {
         expires = Integer.MIN_VALUE != timeInMilliseconds ? new Timestamp(timeInMilliseconds) : null;
     }
@@ -82,7 +178,17 @@ public class IndicatorCache {
      * @return true if cache has expired else false
      */
     public boolean hasExpired() {
-        return expires == null || expires.before(new Date());
+        return hasExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * To find out if this cache has expired or not at given time
+     *
+     * @param timeInMilliseconds time to check expiration at
+     * @return true if cache has expired at given time else false
+     */
+    public boolean hasExpired(long timeInMilliseconds) {
+        return expires == null || expires.getTime() < timeInMilliseconds;
     }
 
     /**
@@ -91,7 +197,7 @@ public class IndicatorCache {
      * @return true if cache contains alla data else false
      */
     public boolean isMissingData() {
-        return SkvirrelUtils.UNSET == sma || SkvirrelUtils.UNSET == ema
-                || SkvirrelUtils.UNSET == rsi || expires == null;
+        return INDICATOR_SPECS.stream().anyMatch(indicatorSpec -> SkvirrelUtils.UNSET == getValue(indicatorSpec))
+                || expires == null;
     }
 }
@@ -0,0 +1,128 @@
+package ax.stardust.skvirrel.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Process wide in-memory tier in front of the indicator caches stored in the database. Indicator
+ * caches are kept by ticker, the least recently used one is evicted when the memory cache is full
+ * and an indicator cache that has expired is never returned.
+ * <br/>
+ * The memory cache only holds copies, changes to an indicator cache must be written through by
+ * putting it into the memory cache after it has been written to the database.
+ */
+public class IndicatorMemoryCache {
+
+    // maximum number of indicator caches held in memory
+    static final int MAX_ENTRIES = 64;
+
+    private static final IndicatorMemoryCache INSTANCE = new IndicatorMemoryCache(MAX_ENTRIES);
+
+    private final Map<String, IndicatorCache> indicatorCaches;
+
+    // current time in milliseconds, which expiration is checked against
+    private final LongSupplier clock;
+
+    // number of indicator caches evicted, either due to size or expiration
+    private long evictions;
+
+    IndicatorMemoryCache(int maxEntries) {
+        this(maxEntries, System::currentTimeMillis);
+    }
+
+    IndicatorMemoryCache(int maxEntries, LongSupplier clock) {
+        this.clock = clock;
+
+        // access ordered, the least recently used entry is the eldest one
+        indicatorCaches = new LinkedHashMap<String, IndicatorCache>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IndicatorCache> eldest) {
+                boolean full = size() > maxEntries;
+                if (full) {
+                    evictions++;
+                }
+                return full;
+            }
+        };
+    }
+
+    /**
+     * To get singleton instance of this memory cache
+     *
+     * @return singleton instance of this memory cache
+     */
+    public static IndicatorMemoryCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * To get indicator cache for given ticker, an indicator cache that has expired is evicted
+     *
+     * @param ticker ticker of indicator cache
+     * @return copy of indicator cache or null if no valid indicator cache exists in memory
+     */
+    public synchronized IndicatorCache get(String ticker) {
+        IndicatorCache indicatorCache = indicatorCaches.get(ticker);
+        if (indicatorCache == null) {
+            return null;
+        }
+
+        if (indicatorCache.hasExpired(clock.getAsLong())) {
+            indicatorCaches.remove(ticker);
+            evictions++;
+            return null;
+        }
+
+        return new IndicatorCache(indicatorCache);
+    }
+
+    /**
+     * To put given indicator cache into memory, an indicator cache that has already expired
+     * replaces nothing but removes any existing indicator cache with same ticker
+     *
+     * @param indicatorCache indicator cache to put into memory
+     */
+    public synchronized void put(IndicatorCache indicatorCache) {
+        if (indicatorCache.hasExpired(clock.getAsLong())) {
+            indicatorCaches.remove(indicatorCache.getTicker());
+        } else {
+            indicatorCaches.put(indicatorCache.getTicker(), new IndicatorCache(indicatorCache));
+        }
+    }
+
+    /**
+     * To remove indicator cache for given ticker from memory
+     *
+     * @param ticker ticker of indicator cache to remove
+     */
+    public synchronized void remove(String ticker) {
+        indicatorCaches.remove(ticker);
+    }
+
+    /**
+     * To remove all indicator caches from memory
+     */
+    public synchronized void clear() {
+        indicatorCaches.clear();
+    }
+
+    /**
+     * To get number of indicator caches held in memory
+     *
+     * @return number of indicator caches
+     */
+    public synchronized int size() {
+        return indicatorCaches.size();
+    }
+
+    /**
+     * To get number of indicator caches evicted from memory since start, either due to size or
+     * expiration
+     *
+     * @return number of evictions
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,162 @@
+package ax.stardust.skvirrel.cache;
+
+import java.math.BigDecimal;
+import java.util.function.LongSupplier;
+
+import ax.stardust.skvirrel.stock.indicator.ExponentialMovingAverage;
+import ax.stardust.skvirrel.stock.indicator.PriceSeries;
+import ax.stardust.skvirrel.stock.indicator.RelativeStrengthIndex;
+import ax.stardust.skvirrel.stock.indicator.SimpleMovingAverage;
+import ax.stardust.skvirrel.stock.indicator.StreamingExponentialMovingAverage;
+import ax.stardust.skvirrel.stock.indicator.StreamingIndicator;
+import ax.stardust.skvirrel.stock.indicator.StreamingRelativeStrengthIndex;
+import ax.stardust.skvirrel.stock.indicator.StreamingSimpleMovingAverage;
+import ax.stardust.skvirrel.util.SkvirrelMath;
+import ax.stardust.skvirrel.util.SkvirrelUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * State of the streaming indicators for a ticker, stored along with the indicator cache. Once
+ * the state has been built from historical quotes the indicator values can be calculated for
+ * any current price in constant time, without fetching and going through the history again.
+ * <br/>
+ * The state only holds closing prices up to the day it was built, it's therefore only valid
+ * until the next close of the trading session.
+ */
+@Getter
+public class IndicatorState {
+
+    private final StreamingSimpleMovingAverage sma;
+    private final StreamingExponentialMovingAverage ema;
+    private final StreamingRelativeStrengthIndex rsi;
+
+    // EMA and RSI over the oldest closing price as well, used when current price isn't taken into
+    // account. SMA only depends on the last closing prices of its period, so it needs no such
+    private final StreamingExponentialMovingAverage emaOfAllCloses;
+    private final StreamingRelativeStrengthIndex rsiOfAllCloses;
+
+    private double lastClose = SkvirrelUtils.UNSET;
+
+    private long expires;
+
+    // current time in milliseconds, which expiration is checked against, not part of stored state
+    @Getter(AccessLevel.NONE)
+    private final transient LongSupplier clock;
+
+    /**
+     * Creates a new and empty indicator state with default periods for the indicators
+     */
+    public IndicatorState() {
+        this(System::currentTimeMillis);
+    }
+
+    IndicatorState(LongSupplier clock) {
+        this.clock = clock;
+        sma = new StreamingSimpleMovingAverage(SimpleMovingAverage.DEFAULT_PERIOD);
+        ema = new StreamingExponentialMovingAverage(ExponentialMovingAverage.DEFAULT_PERIOD);
+        rsi = new StreamingRelativeStrengthIndex(RelativeStrengthIndex.DEFAULT_PERIOD);
+        emaOfAllCloses = new StreamingExponentialMovingAverage(ExponentialMovingAverage.DEFAULT_PERIOD);
+        rsiOfAllCloses = new StreamingRelativeStrengthIndex(RelativeStrengthIndex.DEFAULT_PERIOD);
+    }
+
+    /**
+     * Creates a new indicator state from given price series, the state will be valid
+     * until the next close of given trading session.
+     * Note. the oldest quote is left out of the indicators peeked with current price, in the same
+     * way as the indicators leave it out when current price differs from the last close. When it
+     * doesn't the values are taken from indicators over all quotes. This way values calculated
+     * from the state equals the ones calculated by the indicators from the historical quotes, for
+     * any current price.
+     *
+     * @param priceSeries   price series to build state from
+     * @param marketSession trading session of the exchange
+     * @return created indicator state
+     */
+    public static IndicatorState from(PriceSeries priceSeries, MarketSession marketSession) {
+        return from(priceSeries, marketSession, System::currentTimeMillis);
+    }
+
+    static IndicatorState from(PriceSeries priceSeries, MarketSession marketSession, LongSupplier clock) {
+        IndicatorState indicatorState = new IndicatorState(clock);
+        if (priceSeries.size() > 0) {
+            indicatorState.emaOfAllCloses.update(priceSeries.getClose(0));
+            indicatorState.rsiOfAllCloses.update(priceSeries.getClose(0));
+        }
+        for (int i = 1; i < priceSeries.size(); i++) {
+            indicatorState.update(priceSeries.getClose(i));
+        }
+
+        indicatorState.expires = marketSession.getNextClose(clock.getAsLong());
+
+        return indicatorState;
+    }
+
+    /**
+     * Updates all indicators within this state with given closing price
+     *
+     * @param close closing price to update with
+     */
+    public void update(double close) {
+        sma.update(close);
+        ema.update(close);
+        rsi.update(close);
+        emaOfAllCloses.update(close);
+        rsiOfAllCloses.update(close);
+        lastClose = close;
+    }
+
+    /**
+     * To get SMA with current price taken into account
+     *
+     * @param currentPrice current price
+     * @return SMA for current price
+     */
+    public double getSma(BigDecimal currentPrice) {
+        return getValue(sma, sma, currentPrice);
+    }
+
+    /**
+     * To get EMA with current price taken into account
+     *
+     * @param currentPrice current price
+     * @return EMA for current price
+     */
+    public double getEma(BigDecimal currentPrice) {
+        return getValue(ema, emaOfAllCloses, currentPrice);
+    }
+
+    /**
+     * To get RSI with current price taken into account
+     *
+     * @param currentPrice current price
+     * @return RSI for current price
+     */
+    public double getRsi(BigDecimal currentPrice) {
+        return getValue(rsi, rsiOfAllCloses, currentPrice);
+    }
+
+    /**
+     * To find out if this state contains all data it's supposed to have and is still valid
+     *
+     * @return true if this state can be used for calculations else false
+     */
+    public boolean isValid() {
+        return sma.isReady() && ema.isReady() && rsi.isReady()
+                && emaOfAllCloses.isReady() && rsiOfAllCloses.isReady()
+                && expires > clock.getAsLong();
+    }
+
+    /**
+     * Current price handling in the same way as {@link ax.stardust.skvirrel.stock.indicator.IndicatorUtils},
+     * if current price isn't null and differs from last closing price it's taken into account as
+     * the closing price of a new quote. Else the value over all closing prices is used.
+     */
+    private double getValue(StreamingIndicator streamingIndicator, StreamingIndicator streamingIndicatorOfAllCloses,
+                            BigDecimal currentPrice) {
+        if (currentPrice != null && !SkvirrelMath.equals(lastClose, currentPrice.doubleValue())) {
+            return streamingIndicator.peek(currentPrice.doubleValue());
+        }
+        return streamingIndicatorOfAllCloses.getValue();
+    }
+}
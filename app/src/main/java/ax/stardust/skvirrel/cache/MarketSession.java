@@ -0,0 +1,146 @@
+package ax.stardust.skvirrel.cache;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Trading session of an exchange, used to decide for how long cached values are valid. Closing
+ * prices only change when a session closes and the current price only changes while the session
+ * is open.
+ * <br/>
+ * Sessions are held on weekdays, in the time zone of the exchange. Regular trading hours are known
+ * for a few exchange time zones, for any other time zone the session is considered to last the
+ * whole weekday. Holidays are not known and treated as ordinary trading days.
+ */
+public class MarketSession {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    // regular trading hours by time zone of exchange, as minutes of day [open, close]
+    private static final Map<String, int[]> TRADING_HOURS = new HashMap<>();
+
+    static {
+        TRADING_HOURS.put("America/New_York", new int[]{9 * 60 + 30, 16 * 60});
+        TRADING_HOURS.put("Europe/London", new int[]{8 * 60, 16 * 60 + 30});
+        TRADING_HOURS.put("Europe/Stockholm", new int[]{9 * 60, 17 * 60 + 30});
+        TRADING_HOURS.put("Europe/Helsinki", new int[]{10 * 60, 18 * 60 + 30});
+    }
+
+    private final ZoneId zoneId;
+
+    // session open and close as minutes of day in the time zone of the exchange
+    private final int open;
+    private final int close;
+
+    /**
+     * Creates a new market session in given time zone
+     *
+     * @param timeZone time zone of exchange
+     * @param open     session open as minutes of day
+     * @param close    session close as minutes of day, at most the end of day
+     */
+    public MarketSession(TimeZone timeZone, int open, int close) {
+        if (open < 0 || close > MINUTES_PER_DAY || open >= close) {
+            throw new IllegalArgumentException(String.format("Invalid session, open: %d close: %d", open, close));
+        }
+
+        this.zoneId = timeZone.toZoneId();
+        this.open = open;
+        this.close = close;
+    }
+
+    /**
+     * To get market session of exchange with given time zone. If time zone is missing the device
+     * time zone is used
+     *
+     * @param timeZone time zone of exchange
+     * @return market session of exchange
+     */
+    public static MarketSession of(TimeZone timeZone) {
+        TimeZone sessionTimeZone = timeZone != null ? timeZone : TimeZone.getDefault();
+        int[] tradingHours = TRADING_HOURS.getOrDefault(sessionTimeZone.getID(), new int[]{0, MINUTES_PER_DAY});
+        return new MarketSession(sessionTimeZone, tradingHours[0], tradingHours[1]);
+    }
+
+    /**
+     * To find out if session is open at given time
+     *
+     * @param timeInMillis time to check
+     * @return true if session is open else false
+     */
+    public boolean isOpen(long timeInMillis) {
+        ZonedDateTime time = toZonedDateTime(timeInMillis);
+        LocalDate date = time.toLocalDate();
+        return isTradingDay(date) && !time.isBefore(atMinuteOfDay(date, open))
+                && time.isBefore(atMinuteOfDay(date, close));
+    }
+
+    /**
+     * To get next time session opens after given time
+     *
+     * @param timeInMillis time to start from
+     * @return next session open in milliseconds
+     */
+    public long getNextOpen(long timeInMillis) {
+        return next(timeInMillis, open);
+    }
+
+    /**
+     * To get next time session closes after given time
+     *
+     * @param timeInMillis time to start from
+     * @return next session close in milliseconds
+     */
+    public long getNextClose(long timeInMillis) {
+        return next(timeInMillis, close);
+    }
+
+    /**
+     * Resolves when values depending on the current price expires. While session is open they
+     * live for given time to live, but not past the session close, as the closing price needs to
+     * be taken into account. While session is closed the price doesn't change and the values are
+     * valid until session opens again
+     *
+     * @param timeInMillis time values were calculated
+     * @param timeToLive   time to live in milliseconds while session is open
+     * @return expiration time in milliseconds
+     */
+    public long resolveExpires(long timeInMillis, long timeToLive) {
+        if (isOpen(timeInMillis)) {
+            return Math.min(timeInMillis + timeToLive, getNextClose(timeInMillis));
+        }
+        return getNextOpen(timeInMillis);
+    }
+
+    private long next(long timeInMillis, int minuteOfDay) {
+        ZonedDateTime time = toZonedDateTime(timeInMillis);
+        LocalDate date = time.toLocalDate();
+        while (!isTradingDay(date) || !atMinuteOfDay(date, minuteOfDay).isAfter(time)) {
+            date = date.plusDays(1);
+        }
+        return atMinuteOfDay(date, minuteOfDay).toInstant().toEpochMilli();
+    }
+
+    private ZonedDateTime toZonedDateTime(long timeInMillis) {
+        return Instant.ofEpochMilli(timeInMillis).atZone(zoneId);
+    }
+
+    private ZonedDateTime atMinuteOfDay(LocalDate date, int minuteOfDay) {
+        if (minuteOfDay == MINUTES_PER_DAY) {
+            return date.plusDays(1).atStartOfDay(zoneId);
+        }
+        return date.atTime(LocalTime.ofSecondOfDay(minuteOfDay * 60L)).atZone(zoneId);
+    }
+
+    private static boolean isTradingDay(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
+    }
+}
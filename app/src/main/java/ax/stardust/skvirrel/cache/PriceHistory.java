@@ -0,0 +1,135 @@
+package ax.stardust.skvirrel.cache;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import yahoofinance.histquotes.HistoricalQuote;
+
+/**
+ * Locally stored daily price history of a ticker. Once stored, only the days since the last stored
+ * day needs to be fetched from yahoo finance and appended to the history.
+ * <br/>
+ * A stored price history is contiguous: it's first fetched in full from a date and after that only
+ * appended to from its last day, see {@link #append(List, Calendar)}. It therefore holds every
+ * trading day from its first to its last quote, and its first quote is at or before the date
+ * history is needed from as long as that date never moves backwards.
+ * <br/>
+ * Dates of the quotes are compared as days, in the time zone of their calendars.
+ */
+public class PriceHistory {
+
+    private final String ticker;
+
+    // historical quotes sorted by date, oldest first
+    private final List<HistoricalQuote> historicalQuotes;
+
+    /**
+     * Creates a new price history for given ticker with given historical quotes. Historical quotes
+     * without date or closing price are left out
+     *
+     * @param ticker           ticker of price history
+     * @param historicalQuotes historical quotes of price history
+     */
+    public PriceHistory(String ticker, List<HistoricalQuote> historicalQuotes) {
+        this.ticker = ticker;
+        this.historicalQuotes = historicalQuotes.stream()
+                .filter(historicalQuote -> historicalQuote.getDate() != null)
+                .filter(historicalQuote -> historicalQuote.getClose() != null)
+                .sorted(Comparator.comparingLong(historicalQuote -> toEpochDay(historicalQuote.getDate())))
+                .collect(Collectors.toList());
+    }
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public List<HistoricalQuote> getHistoricalQuotes() {
+        return historicalQuotes;
+    }
+
+    /**
+     * Resolves the date from which historical quotes needs to be fetched for this price history to
+     * be complete from given date. If the last stored day is at or after given date, the price
+     * history holds every trading day from given date up to its last day, as it's contiguous and
+     * started at or before given date. Only the days from the last stored day then needs to be
+     * fetched, the last day is fetched again as it might have been stored during the day. Else
+     * all history from given date needs to be fetched
+     *
+     * @param from date from which price history is needed
+     * @return date to fetch historical quotes from
+     */
+    public Calendar resolveFetchFrom(Calendar from) {
+        if (!historicalQuotes.isEmpty()) {
+            Calendar lastDate = historicalQuotes.get(historicalQuotes.size() - 1).getDate();
+            if (toEpochDay(lastDate) >= toEpochDay(from)) {
+                return toCalendar(toEpochDay(lastDate));
+            }
+        }
+
+        return from;
+    }
+
+    /**
+     * Creates a new price history from given date, where given historical quotes are appended to
+     * the historical quotes of this price history. Historical quotes of this price history that
+     * are at or after the first given historical quote are replaced by the given ones.
+     * <br/>
+     * Given historical quotes must be fetched from the date resolved by
+     * {@link #resolveFetchFrom(Calendar)} for the same given date, which keeps the price history
+     * contiguous
+     *
+     * @param fetchedHistoricalQuotes historical quotes to append
+     * @param from                    date from which price history is kept
+     * @return new price history with given historical quotes appended
+     */
+    public PriceHistory append(List<HistoricalQuote> fetchedHistoricalQuotes, Calendar from) {
+        PriceHistory fetchedPriceHistory = new PriceHistory(ticker, fetchedHistoricalQuotes);
+        List<HistoricalQuote> fetched = fetchedPriceHistory.getHistoricalQuotes();
+
+        long fromEpochDay = toEpochDay(from);
+        long replaceFromEpochDay = fetched.isEmpty() ? Long.MAX_VALUE : toEpochDay(fetched.get(0).getDate());
+
+        List<HistoricalQuote> appended = new ArrayList<>(historicalQuotes.size() + fetched.size());
+        for (HistoricalQuote historicalQuote : historicalQuotes) {
+            long epochDay = toEpochDay(historicalQuote.getDate());
+            if (epochDay >= fromEpochDay && epochDay < replaceFromEpochDay) {
+                appended.add(historicalQuote);
+            }
+        }
+        for (HistoricalQuote historicalQuote : fetched) {
+            if (toEpochDay(historicalQuote.getDate()) >= fromEpochDay) {
+                appended.add(historicalQuote);
+            }
+        }
+
+        return new PriceHistory(ticker, appended);
+    }
+
+    /**
+     * Converts given calendar to days since epoch, in the time zone of the calendar
+     *
+     * @param calendar calendar to convert
+     * @return date as epoch day
+     */
+    public static long toEpochDay(Calendar calendar) {
+        return LocalDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH)).toEpochDay();
+    }
+
+    /**
+     * Converts given days since epoch to a calendar at the start of that day
+     *
+     * @param epochDay date as epoch day
+     * @return calendar of given day
+     */
+    public static Calendar toCalendar(long epochDay) {
+        LocalDate localDate = LocalDate.ofEpochDay(epochDay);
+        return new GregorianCalendar(localDate.getYear(), localDate.getMonthValue() - 1,
+                localDate.getDayOfMonth());
+    }
+}
@@ -0,0 +1,151 @@
+package ax.stardust.skvirrel.cache;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import yahoofinance.Stock;
+import yahoofinance.YahooFinance;
+
+/**
+ * Process wide short lived cache of stocks fetched from yahoo finance, keyed by ticker. Stocks
+ * fetched for the same ticker within the time to live are served from the cache instead of being
+ * fetched again, concurrent fetches of the same ticker are made only once.
+ * <br/>
+ * Number of requests and misses are kept, where a miss is an actual call to yahoo finance and
+ * any other request, a hit, is a saved call to yahoo finance.
+ */
+public class QuoteCache {
+
+    /**
+     * Fetcher of stocks, may fail with an {@link IOException}.
+     */
+    interface StockFetcher {
+        Stock fetch(String ticker) throws IOException;
+    }
+
+    // time to live for cached stocks in milliseconds, and the limits for it
+    static final long TIME_TO_LIVE = 30 * 1000;
+    static final long MIN_TIME_TO_LIVE = 5 * 1000;
+    static final long MAX_TIME_TO_LIVE = 60 * 1000;
+
+    private static final QuoteCache INSTANCE = new QuoteCache(YahooFinance::get, TIME_TO_LIVE);
+
+    private final StockFetcher stockFetcher;
+    private final SingleFlight<String, Stock> fetches = new SingleFlight<>();
+
+    // cached stocks and the time they were fetched
+    private final Map<String, Stock> stocks = new HashMap<>();
+    private final Map<String, Long> fetched = new HashMap<>();
+
+    private long timeToLive;
+
+    // number of stocks requested and fetched from yahoo finance
+    private long requests;
+    private long misses;
+
+    QuoteCache(StockFetcher stockFetcher, long timeToLive) {
+        this.stockFetcher = stockFetcher;
+        setTimeToLive(timeToLive);
+    }
+
+    /**
+     * To get singleton instance of this cache
+     *
+     * @return singleton instance of this cache
+     */
+    public static QuoteCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * To get stock for given ticker, from cache if it was fetched within time to live else from
+     * yahoo finance. If the stock is already being fetched by someone else that fetch is waited
+     * for. Stocks that couldn't be found are not cached
+     *
+     * @param ticker ticker of stock
+     * @return stock or null if no stock was found
+     * @throws IOException if stock couldn't be fetched from yahoo finance
+     */
+    public Stock get(String ticker) throws IOException {
+        Stock stock = getCached(ticker);
+        if (stock != null) {
+            return stock;
+        }
+
+        return fetches.execute(ticker, () -> {
+            countMiss();
+            Stock fetchedStock = stockFetcher.fetch(ticker);
+            put(ticker, fetchedStock);
+            return fetchedStock;
+        });
+    }
+
+    /**
+     * Sets time to live for cached stocks, cached stocks are valid for given time to live
+     * from when they were fetched
+     *
+     * @param timeToLive time to live in milliseconds, between {@link #MIN_TIME_TO_LIVE} and
+     *                   {@link #MAX_TIME_TO_LIVE}
+     */
+    public synchronized void setTimeToLive(long timeToLive) {
+        if (timeToLive < MIN_TIME_TO_LIVE || timeToLive > MAX_TIME_TO_LIVE) {
+            throw new IllegalArgumentException(String.format("Invalid time to live: %d", timeToLive));
+        }
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * To remove all stocks from cache
+     */
+    public synchronized void clear() {
+        stocks.clear();
+        fetched.clear();
+    }
+
+    /**
+     * To get number of stocks served from cache since start, in other words the number of saved
+     * calls to yahoo finance
+     *
+     * @return number of hits
+     */
+    public synchronized long getHits() {
+        return requests - misses;
+    }
+
+    /**
+     * To get number of stocks fetched from yahoo finance since start
+     *
+     * @return number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private synchronized Stock getCached(String ticker) {
+        requests++;
+
+        Long fetchedAt = fetched.get(ticker);
+        if (fetchedAt != null && fetchedAt + timeToLive > System.currentTimeMillis()) {
+            return stocks.get(ticker);
+        }
+        return null;
+    }
+
+    private synchronized void countMiss() {
+        misses++;
+    }
+
+    private synchronized void put(String ticker, Stock stock) {
+        long now = System.currentTimeMillis();
+
+        // drop expired stocks while at it, there are never many of them
+        fetched.entrySet().removeIf(entry -> entry.getValue() + timeToLive <= now);
+        stocks.keySet().retainAll(fetched.keySet());
+
+        if (stock != null) {
+            stocks.put(ticker, stock);
+            fetched.put(ticker, now);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ax.stardust.skvirrel.cache;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Deduplicates concurrent calls by key. The first caller for a key executes the call, any caller
+ * with the same key arriving while the call is in flight waits for and gets the same result,
+ * or exception, instead of executing the call again.
+ * <br/>
+ * Once a call has finished the key is released, the next caller executes the call again.
+ *
+ * @param <K> type of key
+ * @param <V> type of result
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * Call to execute, may fail with an {@link IOException}.
+     *
+     * @param <V> type of result
+     */
+    public interface Call<V> {
+        V call() throws IOException;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Executes given call for given key, unless a call for the same key is already in flight in
+     * which case the result of that call is waited for
+     *
+     * @param key  key of call
+     * @param call call to execute
+     * @return result of call
+     * @throws IOException if call failed with an {@link IOException}
+     */
+    public V execute(K key, Call<V> call) throws IOException {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existingFuture = inFlight.putIfAbsent(key, future);
+        if (existingFuture != null) {
+            return await(existingFuture);
+        }
+
+        try {
+            V result = call.call();
+            future.complete(result);
+            return result;
+        } catch (Throwable throwable) {
+            future.completeExceptionally(throwable);
+            throw throwable;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * To find out if a call for given key is in flight
+     *
+     * @param key key of call
+     * @return true if a call is in flight else false
+     */
+    public boolean isInFlight(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    /**
+     * To get estimated number of callers waiting for the call in flight for given key
+     *
+     * @param key key of call
+     * @return number of waiting callers, 0 if no call is in flight
+     */
+    int getWaiting(K key) {
+        CompletableFuture<V> future = inFlight.get(key);
+        return future != null ? future.getNumberOfDependents() : 0;
+    }
+
+    private V await(CompletableFuture<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for call in flight");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Call in flight failed", cause);
+        }
+    }
+}
@@ -128,6 +128,16 @@ public class StockDetailsDialog extends DialogFragment {
         toggleVisibility();
     }
 
+    /**
+     * Marks the expired indicator values shown within this dialog as not updated, when they
+     * couldn't be refreshed
+     */
+    public void setIndicatorsNotRefreshed() {
+        if (parcelableStock != null && parcelableStock.isStaleIndicators()) {
+            indicatorTitleTextView.setText(R.string.stock_details_indicators_title_not_updated);
+        }
+    }
+
     private void findViews(View view) {
         fetchingDataLinearLayout = view.findViewById(R.id.fetching_stock_details_ll);
 
@@ -201,6 +211,8 @@ public class StockDetailsDialog extends DialogFragment {
                 parcelableStock.getTimeZone()));
         dividendTextView.setText(ParcelableStock.toString(parcelableStock.getAnnualYield(),
                 parcelableStock.getAnnualYieldPercent(), "%", "%s(%s)"));
+        indicatorTitleTextView.setText(parcelableStock.isStaleIndicators()
+                ? R.string.stock_details_indicators_title_updating : R.string.stock_details_indicators_title);
         smaTextView.setText(ParcelableStock.toString(parcelableStock.getSma50Close()));
         emaTextView.setText(ParcelableStock.toString(parcelableStock.getEma50Close()));
         rsiTextView.setText(ParcelableStock.toString(parcelableStock.getRsi14Close()));
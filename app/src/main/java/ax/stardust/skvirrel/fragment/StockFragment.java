@@ -467,6 +467,10 @@ public class StockFragment extends Fragment implements DialogInteractionListener
                             ParcelableStock parcelableStock = data.getParcelableExtra(ServiceParams.ResultExtra.STOCK_INFO);
                             stockDetailsDialog.setParcelableStockAndUpdateDialog(parcelableStock);
                         }
+                    } else if (resultCode == ServiceParams.ResultCode.INDICATORS_NOT_REFRESHED_ERROR) {
+                        if (stockDetailsDialog != null) {
+                            stockDetailsDialog.setIndicatorsNotRefreshed();
+                        }
                     }
                     break;
                 default:
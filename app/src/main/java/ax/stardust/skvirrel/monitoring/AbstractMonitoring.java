@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import ax.stardust.skvirrel.R;
-import ax.stardust.skvirrel.stock.parcelable.ParcelableStock;
+import ax.stardust.skvirrel.stock.QuoteSnapshot;
 import ax.stardust.skvirrel.util.SkvirrelUtils;
 
 /**
@@ -174,6 +174,22 @@ public abstract class AbstractMonitoring {
      */
     public abstract void resetValue();
 
+    /**
+     * To get threshold of monitoring as a real number, unlike {@link #getValue()} it's not
+     * formatted in any way
+     *
+     * @return threshold of monitoring
+     */
+    public abstract double getThreshold();
+
+    /**
+     * To set threshold of monitoring from a real number, typically when read from database.
+     * Unlike {@link #setValue(String)} no validation takes place, as a reset value is valid here
+     *
+     * @param threshold threshold of monitoring
+     */
+    public abstract void setThreshold(double threshold);
+
     /**
      * Indicating whether or not this monitoring actually is valid to be used for monitoring
      *
@@ -182,11 +198,12 @@ public abstract class AbstractMonitoring {
     public abstract boolean isValid();
 
     /**
-     * To check monitoring criteria against data within given parcelable stock, if true is returned
-     * it means that we got a hit for this monitoring and it should be handled for notification
+     * To check monitoring criteria against data within given quote snapshot, typically a parcelable
+     * stock. If true is returned it means that we got a hit for this monitoring and it should be
+     * handled for notification
      *
-     * @param parcelableStock parcelable stock which data is about to be checked against criteria within the monitoring
+     * @param quoteSnapshot quote snapshot which data is about to be checked against criteria within the monitoring
      * @return true if criteria within monitoring are met else false
      */
-    public abstract boolean checkMonitoringCriteria(ParcelableStock parcelableStock);
+    public abstract boolean checkMonitoringCriteria(QuoteSnapshot quoteSnapshot);
 }
@@ -5,6 +5,7 @@ import android.content.Context;
 import org.apache.commons.lang3.StringUtils;
 
 import ax.stardust.skvirrel.R;
+import ax.stardust.skvirrel.monitoring.criteria.Comparison;
 
 /**
  * Criteria common for different stock monitorings.
@@ -15,13 +16,24 @@ public class Criteria {
      * Comparator criteria
      */
     public enum Comparator {
-        ABOVE(R.string.above),
-        BELOW(R.string.below);
+        ABOVE(R.string.above, Comparison.ABOVE),
+        BELOW(R.string.below, Comparison.BELOW);
 
         private int stringResourceId;
+        private final Comparison comparison;
 
-        Comparator(int stringResourceId) {
+        Comparator(int stringResourceId, Comparison comparison) {
             this.stringResourceId = stringResourceId;
+            this.comparison = comparison;
+        }
+
+        /**
+         * To get the comparison of this comparator, used when evaluating the criteria
+         *
+         * @return comparison of comparator
+         */
+        public Comparison getComparison() {
+            return comparison;
         }
 
         /**
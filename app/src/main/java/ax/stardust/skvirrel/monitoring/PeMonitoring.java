@@ -1,13 +1,10 @@
 package ax.stardust.skvirrel.monitoring;
 
-import android.annotation.SuppressLint;
-
 import org.apache.commons.lang3.math.NumberUtils;
 
-import ax.stardust.skvirrel.stock.parcelable.ParcelableStock;
-import ax.stardust.skvirrel.util.SkvirrelUtils;
+import ax.stardust.skvirrel.monitoring.criteria.CriteriaEvaluator;
+import ax.stardust.skvirrel.stock.QuoteSnapshot;
 import lombok.Getter;
-import timber.log.Timber;
 
 /**
  * Class representing a PE ratio monitoring.
@@ -49,25 +46,22 @@ public class PeMonitoring extends AbstractMonitoring {
     }
 
     @Override
-    public boolean isValid() {
-        return pe > 0 && comparator != null;
+    public double getThreshold() {
+        return pe;
     }
 
     @Override
-    @SuppressLint("BinaryOperationInTimber")
-    public boolean checkMonitoringCriteria(ParcelableStock parcelableStock) {
-        double stockPe = parcelableStock.getPe();
-
-        if (SkvirrelUtils.UNSET == stockPe) {
-            Timber.w("PE ratio of parcelable stock with ticker: %s is missing, probably it's missing from " +
-                    "yahoo finance as well. Monitoring criteria therefore not met.", parcelableStock.getTicker());
-            return false;
-        }
+    public void setThreshold(double threshold) {
+        pe = (int) threshold;
+    }
 
-        if (Criteria.Comparator.BELOW.equals(comparator)) {
-            return stockPe <= pe;
-        }
+    @Override
+    public boolean isValid() {
+        return pe > 0 && comparator != null;
+    }
 
-        return stockPe >= pe;
+    @Override
+    public boolean checkMonitoringCriteria(QuoteSnapshot quoteSnapshot) {
+        return CriteriaEvaluator.checkPe(quoteSnapshot, comparator.getComparison(), pe);
     }
 }
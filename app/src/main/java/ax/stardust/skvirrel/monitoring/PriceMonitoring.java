@@ -4,11 +4,9 @@ import org.apache.commons.lang3.math.NumberUtils;
 
 import java.text.DecimalFormat;
 
-import ax.stardust.skvirrel.exception.MonitoringException;
-import ax.stardust.skvirrel.stock.parcelable.ParcelableStock;
-import ax.stardust.skvirrel.util.SkvirrelUtils;
+import ax.stardust.skvirrel.monitoring.criteria.CriteriaEvaluator;
+import ax.stardust.skvirrel.stock.QuoteSnapshot;
 import lombok.Getter;
-import timber.log.Timber;
 
 /**
  * Class representing a price monitoring.
@@ -50,24 +48,22 @@ public class PriceMonitoring extends AbstractMonitoring {
     }
 
     @Override
-    public boolean isValid() {
-        return price > 0 && comparator != null;
+    public double getThreshold() {
+        return price;
     }
 
     @Override
-    public boolean checkMonitoringCriteria(ParcelableStock parcelableStock) {
-        double stockPrice = parcelableStock.getPrice();
-
-        if (SkvirrelUtils.UNSET == stockPrice) {
-            MonitoringException exception = new MonitoringException("Price of parcelable stock is unset");
-            Timber.e(exception, "Unable to check monitoring criteria");
-            throw exception;
-        }
+    public void setThreshold(double threshold) {
+        price = threshold;
+    }
 
-        if (Criteria.Comparator.BELOW.equals(comparator)) {
-            return stockPrice <= price;
-        }
+    @Override
+    public boolean isValid() {
+        return price > 0 && comparator != null;
+    }
 
-        return stockPrice >= price;
+    @Override
+    public boolean checkMonitoringCriteria(QuoteSnapshot quoteSnapshot) {
+        return CriteriaEvaluator.checkPrice(quoteSnapshot, comparator.getComparison(), price);
     }
 }
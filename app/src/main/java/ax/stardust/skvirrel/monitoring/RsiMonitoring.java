@@ -2,7 +2,8 @@ package ax.stardust.skvirrel.monitoring;
 
 import org.apache.commons.lang3.math.NumberUtils;
 
-import ax.stardust.skvirrel.stock.parcelable.ParcelableStock;
+import ax.stardust.skvirrel.monitoring.criteria.CriteriaEvaluator;
+import ax.stardust.skvirrel.stock.QuoteSnapshot;
 import lombok.Getter;
 
 /**
@@ -45,17 +46,23 @@ public class RsiMonitoring extends AbstractMonitoring {
         rsi = 0;
     }
 
+    @Override
+    public double getThreshold() {
+        return rsi;
+    }
+
+    @Override
+    public void setThreshold(double threshold) {
+        rsi = (int) threshold;
+    }
+
     @Override
     public boolean isValid() {
         return (rsi > 0 && rsi < 100) && comparator != null;
     }
 
     @Override
-    public boolean checkMonitoringCriteria(ParcelableStock parcelableStock) {
-        if (Criteria.Comparator.BELOW.equals(comparator)) {
-            return parcelableStock.getRsi14Close() <= rsi;
-        }
-
-        return parcelableStock.getRsi14Close() >= rsi;
+    public boolean checkMonitoringCriteria(QuoteSnapshot quoteSnapshot) {
+        return CriteriaEvaluator.checkRsi(quoteSnapshot, comparator.getComparison(), rsi);
     }
 }
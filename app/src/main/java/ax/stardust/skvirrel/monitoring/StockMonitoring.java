@@ -121,6 +121,17 @@ public class StockMonitoring {
         return hasValidTicker() && hasAnyValidMonitoring();
     }
 
+    /**
+     * To find out if this stock monitoring is active, in other words if it holds enough data for
+     * monitoring and has any monitoring left to be monitored. Active state is stored with the
+     * stock monitoring, so stock monitorings for monitoring can be queried as they are
+     *
+     * @return true if this stock monitoring is active else false
+     */
+    public boolean isActive() {
+        return hasValidDataForMonitoring() && shouldBeMonitored();
+    }
+
     /**
      * To get a list of notified monitorings
      *
@@ -246,7 +257,13 @@ public class StockMonitoring {
             return (RsiMonitoring) getMonitoringOfType(AbstractMonitoring.MonitoringType.RSI);
         }
 
-        private AbstractMonitoring getMonitoringOfType(AbstractMonitoring.MonitoringType monitoringType) {
+        /**
+         * To get monitoring of given type within this monitoring options
+         *
+         * @param monitoringType type of monitoring
+         * @return monitoring of given type
+         */
+        public AbstractMonitoring getMonitoringOfType(AbstractMonitoring.MonitoringType monitoringType) {
             Optional<AbstractMonitoring> optionalMonitoring = monitoringOptions.stream()
                     .filter(mo -> monitoringType.equals(mo.getMonitoringType()))
                     .findFirst();
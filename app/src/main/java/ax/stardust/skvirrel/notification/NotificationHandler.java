@@ -110,9 +110,11 @@ public class NotificationHandler {
             NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
             notificationManager.notify((int) currentTimeMillis, builder.build()); // use current time as id
 
-            // at last mark the "triggered" as notified and update to db
+            // at last mark the "triggered" as notified
             abstractMonitorings.forEach(AbstractMonitoring::notifyy);
-            databaseManager.update(stockMonitoring);
         });
+
+        // update all notified stock monitorings to db in one go
+        databaseManager.updateAll(stockMonitoringsToNotify.keySet());
     }
 }
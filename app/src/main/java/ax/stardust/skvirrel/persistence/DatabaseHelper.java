@@ -1,31 +1,72 @@
 package ax.stardust.skvirrel.persistence;
 
+import android.content.ContentValues;
 import android.content.Context;
+import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import ax.stardust.skvirrel.monitoring.AbstractMonitoring;
+import ax.stardust.skvirrel.monitoring.StockMonitoring;
+import ax.stardust.skvirrel.persistence.gson.AbstractMonitoringJsonAdapter;
+import timber.log.Timber;
 
 /**
- * Helper class for the database handling.
+ * Helper class for the database handling. One helper, and thereby one database connection, is
+ * shared by the whole process. The connection is opened on first use and kept open for the
+ * lifetime of the process, {@link SQLiteDatabase} is safe to use from several threads.
+ * <br/>
+ * Database is opened in write-ahead-log mode so reads don't block on writes in progress, and
+ * statements of frequent writes are compiled once and kept by the helper.
  */
 public class DatabaseHelper extends SQLiteOpenHelper {
 
     // basic database information
     private static final String DB_NAME = "Skvirrel.db";
-    private static final int DB_VERSION = 1;
+    private static final int DB_VERSION = 7;
 
     // table specific data
     public static final String STOCK_MONITORING_TABLE_NAME = "StockMonitoring";
     public static final String INDICATOR_CACHE_TABLE_NAME = "IndicatorCache";
+    public static final String PRICE_HISTORY_TABLE_NAME = "PriceHistory";
+    public static final String COMPANY_NAME_TABLE_NAME = "CompanyName";
+    public static final String INDICATOR_VALUE_TABLE_NAME = "IndicatorValue";
+    public static final String MONITORING_TABLE_NAME = "Monitoring";
     public static final String ID_COLUMN = "id";
     public static final String TICKER_COLUMN = "Ticker";
     public static final String COMPANY_NAME_COLUMN = "CompanyName";
-    public static final String MONITORING_OPTIONS_COLUMN = "MonitoringOptions";
     public static final String VIEW_STATE_COLUMN = "ViewState";
     public static final String SORTING_ORDER_COLUMN = "SortingOrder";
-    public static final String SMA_COLUMN = "Sma";
-    public static final String EMA_COLUMN = "Ema";
-    public static final String RSI_COLUMN = "Rsi";
     public static final String EXPIRES_COLUMN = "Expires";
+    public static final String INDICATOR_STATE_COLUMN = "IndicatorState";
+    public static final String DATE_COLUMN = "Date";
+    public static final String OPEN_COLUMN = "Open";
+    public static final String HIGH_COLUMN = "High";
+    public static final String LOW_COLUMN = "Low";
+    public static final String CLOSE_COLUMN = "Close";
+    public static final String INDICATOR_COLUMN = "Indicator";
+    public static final String PERIOD_COLUMN = "Period";
+    public static final String VALUE_COLUMN = "Value";
+    public static final String AS_OF_COLUMN = "AsOf";
+    public static final String STOCK_MONITORING_ID_COLUMN = "StockMonitoringId";
+    public static final String TYPE_COLUMN = "Type";
+    public static final String COMPARATOR_COLUMN = "Comparator";
+    public static final String THRESHOLD_COLUMN = "Threshold";
+    public static final String NOTIFIED_COLUMN = "Notified";
+    public static final String ACTIVE_COLUMN = "Active";
+
+    // column and table used before monitorings had a table of their own
+    private static final String MONITORING_OPTIONS_COLUMN = "MonitoringOptions";
+    private static final String OLD_STOCK_MONITORING_TABLE_NAME = "StockMonitoringOld";
 
     // queries
     private static final String CREATE_STOCK_MONITORING_TABLE = "CREATE TABLE "
@@ -33,41 +74,357 @@ public class DatabaseHelper extends SQLiteOpenHelper {
             + ID_COLUMN + " INTEGER PRIMARY KEY AUTOINCREMENT, "
             + TICKER_COLUMN + " TEXT, "
             + COMPANY_NAME_COLUMN + " TEXT, "
-            + MONITORING_OPTIONS_COLUMN + " TEXT, "
+            + VIEW_STATE_COLUMN + " TEXT, "
+            + SORTING_ORDER_COLUMN + " INTEGER DEFAULT 0, "
+            + ACTIVE_COLUMN + " INTEGER NOT NULL DEFAULT 0);";
+
+    // stock monitoring table as of version 6, used when upgrading from an older version
+    private static final String CREATE_STOCK_MONITORING_TABLE_V6 = "CREATE TABLE "
+            + STOCK_MONITORING_TABLE_NAME + "("
+            + ID_COLUMN + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + TICKER_COLUMN + " TEXT, "
+            + COMPANY_NAME_COLUMN + " TEXT, "
             + VIEW_STATE_COLUMN + " TEXT, "
             + SORTING_ORDER_COLUMN + " INTEGER DEFAULT 0);";
 
+    // covers the queries of distinct tickers for monitoring
+    private static final String CREATE_STOCK_MONITORING_ACTIVE_INDEX = "CREATE INDEX "
+            + STOCK_MONITORING_TABLE_NAME + ACTIVE_COLUMN + "Index ON "
+            + STOCK_MONITORING_TABLE_NAME + "(" + ACTIVE_COLUMN + ", " + TICKER_COLUMN + ");";
+
+    private static final String CREATE_STOCK_MONITORING_TICKER_INDEX = "CREATE INDEX "
+            + STOCK_MONITORING_TABLE_NAME + TICKER_COLUMN + "Index ON "
+            + STOCK_MONITORING_TABLE_NAME + "(" + TICKER_COLUMN + ");";
+
+    // monitorings are unique per stock monitoring and type, which also indexes them by stock monitoring
+    private static final String CREATE_MONITORING_TABLE = "CREATE TABLE "
+            + MONITORING_TABLE_NAME + "("
+            + ID_COLUMN + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + STOCK_MONITORING_ID_COLUMN + " INTEGER NOT NULL, "
+            + TYPE_COLUMN + " TEXT NOT NULL, "
+            + COMPARATOR_COLUMN + " TEXT, "
+            + THRESHOLD_COLUMN + " REAL NOT NULL DEFAULT 0, "
+            + NOTIFIED_COLUMN + " INTEGER NOT NULL DEFAULT 0, "
+            + "UNIQUE(" + STOCK_MONITORING_ID_COLUMN + ", " + TYPE_COLUMN + "));";
+
     private static final String CREATE_INDICATOR_CACHE_TABLE = "CREATE TABLE "
             + INDICATOR_CACHE_TABLE_NAME + "("
             + ID_COLUMN + " INTEGER PRIMARY KEY AUTOINCREMENT, "
             + TICKER_COLUMN + " TEXT UNIQUE NOT NULL, "
-            + SMA_COLUMN + " TEXT, "
-            + EMA_COLUMN + " TEXT, "
-            + RSI_COLUMN + " TEXT, "
-            + EXPIRES_COLUMN + " INTEGER);";
+            + EXPIRES_COLUMN + " INTEGER, "
+            + INDICATOR_STATE_COLUMN + " TEXT);";
+
+    // one value per ticker, indicator and period, the unique constraint is also the composite
+    // index used when reading all values of a ticker
+    private static final String CREATE_INDICATOR_VALUE_TABLE = "CREATE TABLE "
+            + INDICATOR_VALUE_TABLE_NAME + "("
+            + ID_COLUMN + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + TICKER_COLUMN + " TEXT NOT NULL, "
+            + INDICATOR_COLUMN + " TEXT NOT NULL, "
+            + PERIOD_COLUMN + " INTEGER NOT NULL, "
+            + VALUE_COLUMN + " REAL NOT NULL, "
+            + AS_OF_COLUMN + " INTEGER NOT NULL, "
+            + EXPIRES_COLUMN + " INTEGER, "
+            + "UNIQUE(" + TICKER_COLUMN + ", " + INDICATOR_COLUMN + ", " + PERIOD_COLUMN + "));";
+
+    // date is stored as days since epoch, there's only one quote per ticker and day
+    private static final String CREATE_PRICE_HISTORY_TABLE = "CREATE TABLE "
+            + PRICE_HISTORY_TABLE_NAME + "("
+            + ID_COLUMN + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + TICKER_COLUMN + " TEXT NOT NULL, "
+            + DATE_COLUMN + " INTEGER NOT NULL, "
+            + OPEN_COLUMN + " REAL, "
+            + HIGH_COLUMN + " REAL, "
+            + LOW_COLUMN + " REAL, "
+            + CLOSE_COLUMN + " REAL NOT NULL, "
+            + "UNIQUE(" + TICKER_COLUMN + ", " + DATE_COLUMN + "));";
+
+    // company name is null for tickers not found, there's only one company name per ticker
+    private static final String CREATE_COMPANY_NAME_TABLE = "CREATE TABLE "
+            + COMPANY_NAME_TABLE_NAME + "("
+            + ID_COLUMN + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + TICKER_COLUMN + " TEXT UNIQUE NOT NULL, "
+            + COMPANY_NAME_COLUMN + " TEXT, "
+            + EXPIRES_COLUMN + " INTEGER NOT NULL);";
+
+    // migrations
+    private static final String ADD_INDICATOR_STATE_COLUMN = "ALTER TABLE "
+            + INDICATOR_CACHE_TABLE_NAME + " ADD COLUMN " + INDICATOR_STATE_COLUMN + " TEXT;";
+    private static final String DROP_INDICATOR_CACHE_TABLE = "DROP TABLE IF EXISTS " + INDICATOR_CACHE_TABLE_NAME;
+    private static final String SELECT_MONITORING_OPTIONS_FROM_STOCK_MONITORING_TABLE = "SELECT "
+            + ID_COLUMN + ", " + MONITORING_OPTIONS_COLUMN + " FROM " + STOCK_MONITORING_TABLE_NAME;
+    private static final String RENAME_STOCK_MONITORING_TABLE = "ALTER TABLE "
+            + STOCK_MONITORING_TABLE_NAME + " RENAME TO " + OLD_STOCK_MONITORING_TABLE_NAME;
+    private static final String COPY_OLD_STOCK_MONITORING_TABLE = "INSERT INTO "
+            + STOCK_MONITORING_TABLE_NAME + " SELECT "
+            + ID_COLUMN + ", " + TICKER_COLUMN + ", " + COMPANY_NAME_COLUMN + ", "
+            + VIEW_STATE_COLUMN + ", " + SORTING_ORDER_COLUMN + " FROM " + OLD_STOCK_MONITORING_TABLE_NAME;
+    private static final String DROP_OLD_STOCK_MONITORING_TABLE = "DROP TABLE " + OLD_STOCK_MONITORING_TABLE_NAME;
+    private static final String ADD_ACTIVE_COLUMN = "ALTER TABLE "
+            + STOCK_MONITORING_TABLE_NAME + " ADD COLUMN " + ACTIVE_COLUMN + " INTEGER NOT NULL DEFAULT 0;";
+
+    // same rules as StockMonitoring#isActive(), only used once when active column is added
+    private static final String UPDATE_ACTIVE_FROM_MONITORINGS = "UPDATE " + STOCK_MONITORING_TABLE_NAME
+            + " SET " + ACTIVE_COLUMN + " = 1 WHERE "
+            + TICKER_COLUMN + " <> '' AND " + COMPANY_NAME_COLUMN + " <> '' AND "
+            + ID_COLUMN + " IN (SELECT " + STOCK_MONITORING_ID_COLUMN + " FROM " + MONITORING_TABLE_NAME
+            + " WHERE " + NOTIFIED_COLUMN + " = 0 AND " + COMPARATOR_COLUMN + " IS NOT NULL AND "
+            + THRESHOLD_COLUMN + " > 0 AND (" + TYPE_COLUMN + " <> 'RSI' OR " + THRESHOLD_COLUMN + " < 100))";
+
+    // in write-ahead-log mode a normal sync is enough to keep database consistent
+    private static final String SET_SYNCHRONOUS_NORMAL = "PRAGMA synchronous = NORMAL";
 
     public static final String SELECT_ALL_FROM_STOCK_MONITORING_TABLE = "SELECT * FROM " + STOCK_MONITORING_TABLE_NAME;
-    public static final String SELECT_ALL_FROM_INDICATOR_CACHE_TABLE = "SELECT * FROM " + INDICATOR_CACHE_TABLE_NAME;
-    public static final String SELECT_ALL_FOR_TICKER_FROM_INDICATOR_CACHE_TABLE =
-            "SELECT * FROM " + INDICATOR_CACHE_TABLE_NAME + " WHERE " + TICKER_COLUMN + " = ?";
+    public static final String SELECT_ALL_ACTIVE_FROM_STOCK_MONITORING_TABLE =
+            "SELECT * FROM " + STOCK_MONITORING_TABLE_NAME + " WHERE " + ACTIVE_COLUMN + " = 1";
+    public static final String SELECT_DISTINCT_ACTIVE_TICKERS_FROM_STOCK_MONITORING_TABLE = "SELECT DISTINCT "
+            + TICKER_COLUMN + " FROM " + STOCK_MONITORING_TABLE_NAME + " WHERE " + ACTIVE_COLUMN + " = 1";
+    // indicator caches joined with their values, one row per value and at least one per indicator cache
+    public static final String SELECT_ALL_FROM_INDICATOR_CACHE_JOIN_INDICATOR_VALUE_TABLE =
+            selectIndicatorCacheJoinIndicatorValue("") + " ORDER BY c." + ID_COLUMN;
+    public static final String SELECT_ALL_FOR_TICKER_FROM_INDICATOR_CACHE_JOIN_INDICATOR_VALUE_TABLE =
+            selectIndicatorCacheJoinIndicatorValue(" WHERE c." + TICKER_COLUMN + " = ?");
+    public static final String SELECT_ALL_FOR_TICKER_FROM_PRICE_HISTORY_TABLE =
+            "SELECT * FROM " + PRICE_HISTORY_TABLE_NAME + " WHERE " + TICKER_COLUMN + " = ? ORDER BY " + DATE_COLUMN;
+    public static final String SELECT_ALL_FOR_TICKER_FROM_COMPANY_NAME_TABLE =
+            "SELECT * FROM " + COMPANY_NAME_TABLE_NAME + " WHERE " + TICKER_COLUMN + " = ?";
+    public static final String SELECT_ALL_FROM_MONITORING_TABLE = "SELECT * FROM " + MONITORING_TABLE_NAME;
+    public static final String SELECT_ALL_ACTIVE_FROM_MONITORING_TABLE = "SELECT * FROM " + MONITORING_TABLE_NAME
+            + " WHERE " + STOCK_MONITORING_ID_COLUMN + " IN (SELECT " + ID_COLUMN + " FROM "
+            + STOCK_MONITORING_TABLE_NAME + " WHERE " + ACTIVE_COLUMN + " = 1)";
+
+    // statements of frequent writes, compiled once, see getStatement(SQLiteDatabase, String)
+    public static final String UPDATE_STOCK_MONITORING = "UPDATE " + STOCK_MONITORING_TABLE_NAME + " SET "
+            + TICKER_COLUMN + " = ?, "
+            + COMPANY_NAME_COLUMN + " = ?, "
+            + VIEW_STATE_COLUMN + " = ?, "
+            + SORTING_ORDER_COLUMN + " = ?, "
+            + ACTIVE_COLUMN + " = ? WHERE " + ID_COLUMN + " = ?";
+    public static final String UPDATE_INDICATOR_CACHE = "UPDATE " + INDICATOR_CACHE_TABLE_NAME + " SET "
+            + TICKER_COLUMN + " = ?, "
+            + EXPIRES_COLUMN + " = ?, "
+            + INDICATOR_STATE_COLUMN + " = ? WHERE " + ID_COLUMN + " = ?";
+    public static final String UPSERT_INDICATOR_VALUE = "INSERT OR REPLACE INTO " + INDICATOR_VALUE_TABLE_NAME + "("
+            + TICKER_COLUMN + ", "
+            + INDICATOR_COLUMN + ", "
+            + PERIOD_COLUMN + ", "
+            + VALUE_COLUMN + ", "
+            + AS_OF_COLUMN + ", "
+            + EXPIRES_COLUMN + ") VALUES (?, ?, ?, ?, ?, ?)";
+    public static final String UPSERT_MONITORING = "INSERT OR REPLACE INTO " + MONITORING_TABLE_NAME + "("
+            + STOCK_MONITORING_ID_COLUMN + ", "
+            + TYPE_COLUMN + ", "
+            + COMPARATOR_COLUMN + ", "
+            + THRESHOLD_COLUMN + ", "
+            + NOTIFIED_COLUMN + ") VALUES (?, ?, ?, ?, ?)";
+
+    // where clauses for bounded deletes of unused cache rows, the limit is given as argument and applies
+    // to whole tickers, so no price history is left with a gap where deleted days used to be
+    public static final String WHERE_UNUSED_INDICATOR_CACHE = whereUnused(INDICATOR_CACHE_TABLE_NAME);
+    public static final String WHERE_UNUSED_INDICATOR_VALUE = whereUnused(INDICATOR_VALUE_TABLE_NAME);
+    public static final String WHERE_UNUSED_PRICE_HISTORY = whereUnused(PRICE_HISTORY_TABLE_NAME);
+    public static final String WHERE_EXPIRED_COMPANY_NAME = ID_COLUMN + " IN (SELECT " + ID_COLUMN
+            + " FROM " + COMPANY_NAME_TABLE_NAME + " WHERE " + EXPIRES_COLUMN + " <= ? LIMIT ?)";
+
+    private static volatile DatabaseHelper instance;
+
+    // compiled statements by sql
+    private final Map<String, SQLiteStatement> statements = new HashMap<>();
+
+    private DatabaseHelper(Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
 
     /**
-     * Creates a new database helper with given context
+     * To get the process wide database helper, it's created on first call. The application
+     * context of given context is used, so no activity or service is leaked
      *
      * @param context context for database helper
+     * @return process wide database helper
      */
-    public DatabaseHelper(Context context) {
-        super(context, DB_NAME, null, DB_VERSION);
+    public static DatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            synchronized (DatabaseHelper.class) {
+                if (instance == null) {
+                    instance = new DatabaseHelper(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Closes the process wide database helper and it's connection, if any. A new helper is
+     * created on next call to {@link #getInstance(Context)}
+     */
+    public static synchronized void closeInstance() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    /**
+     * To get compiled statement of given sql, it's compiled on first call. Bindings are kept
+     * between calls, so statement should be bound in full and only used within
+     * {@link TransactionHandler#runInTransaction(Context, Transaction)}, where it can't be used
+     * by several threads at once
+     *
+     * @param database database to compile statement with
+     * @param sql      sql of statement
+     * @return compiled statement
+     */
+    public synchronized SQLiteStatement getStatement(SQLiteDatabase database, String sql) {
+        SQLiteStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = database.compileStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    @Override
+    public synchronized void close() {
+        statements.values().forEach(SQLiteStatement::close);
+        statements.clear();
+        super.close();
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        db.execSQL(SET_SYNCHRONOUS_NORMAL);
     }
 
     @Override
     public void onCreate(SQLiteDatabase db) {
         db.execSQL(CREATE_STOCK_MONITORING_TABLE);
         db.execSQL(CREATE_INDICATOR_CACHE_TABLE);
+        db.execSQL(CREATE_PRICE_HISTORY_TABLE);
+        db.execSQL(CREATE_COMPANY_NAME_TABLE);
+        db.execSQL(CREATE_INDICATOR_VALUE_TABLE);
+        db.execSQL(CREATE_MONITORING_TABLE);
+        db.execSQL(CREATE_STOCK_MONITORING_TICKER_INDEX);
+        db.execSQL(CREATE_STOCK_MONITORING_ACTIVE_INDEX);
     }
 
     @Override
-    public void onUpgrade(SQLiteDatabase sqLiteDatabase, int i, int i1) {
-        // do nothing for now
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // migrate step by step from the old version
+        if (oldVersion < 2) {
+            db.execSQL(ADD_INDICATOR_STATE_COLUMN);
+        }
+        if (oldVersion < 3) {
+            db.execSQL(CREATE_PRICE_HISTORY_TABLE);
+        }
+        if (oldVersion < 4) {
+            db.execSQL(CREATE_COMPANY_NAME_TABLE);
+        }
+        if (oldVersion < 5) {
+            // indicator values are moved to a table of their own, as it's all cached data the
+            // indicator cache is simply recreated and refreshed when needed
+            db.execSQL(DROP_INDICATOR_CACHE_TABLE);
+            db.execSQL(CREATE_INDICATOR_CACHE_TABLE);
+            db.execSQL(CREATE_INDICATOR_VALUE_TABLE);
+        }
+        if (oldVersion < 6) {
+            // monitorings are moved from the json of stock monitorings to a table of their own,
+            // sqlite can't drop columns so stock monitoring table is recreated without the json
+            db.execSQL(CREATE_MONITORING_TABLE);
+            migrateMonitoringOptions(db);
+            db.execSQL(RENAME_STOCK_MONITORING_TABLE);
+            db.execSQL(CREATE_STOCK_MONITORING_TABLE_V6);
+            db.execSQL(COPY_OLD_STOCK_MONITORING_TABLE);
+            db.execSQL(DROP_OLD_STOCK_MONITORING_TABLE);
+            db.execSQL(CREATE_STOCK_MONITORING_TICKER_INDEX);
+        }
+        if (oldVersion < 7) {
+            // whether or not a stock monitoring is active is stored, so stock monitorings for
+            // monitoring can be queried without reading them in full
+            db.execSQL(ADD_ACTIVE_COLUMN);
+            db.execSQL(UPDATE_ACTIVE_FROM_MONITORINGS);
+            db.execSQL(CREATE_STOCK_MONITORING_ACTIVE_INDEX);
+        }
+    }
+
+    /**
+     * Moves the monitorings stored as json within each stock monitoring into the monitoring
+     * table. Monitorings that can't be read are lost, the stock monitoring gets new ones
+     *
+     * @param db database being upgraded
+     */
+    private static void migrateMonitoringOptions(SQLiteDatabase db) {
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(AbstractMonitoring.class, new AbstractMonitoringJsonAdapter())
+                .create();
+
+        Cursor cursor = db.rawQuery(SELECT_MONITORING_OPTIONS_FROM_STOCK_MONITORING_TABLE, null);
+        if (cursor != null) {
+            while (cursor.moveToNext()) {
+                long stockMonitoringId = cursor.getLong(0);
+
+                // any failure reading the json of a row, not only malformed json but also json of
+                // unexpected types failing on a cast, must not stop the upgrade
+                try {
+                    StockMonitoring.MonitoringOptions monitoringOptions = gson.fromJson(cursor.getString(1),
+                            StockMonitoring.MonitoringOptions.class);
+                    if (monitoringOptions != null) {
+                        // all monitorings are read before any is written, a row is migrated as a whole or not at all
+                        List<ContentValues> monitorings = monitoringOptions.get().stream()
+                                .map(monitoring -> getContentValues(stockMonitoringId, monitoring))
+                                .collect(Collectors.toList());
+                        monitorings.forEach(contentValues -> db.insertWithOnConflict(MONITORING_TABLE_NAME,
+                                null, contentValues, SQLiteDatabase.CONFLICT_REPLACE));
+                    }
+                } catch (RuntimeException e) {
+                    Timber.e(e, "Unable to migrate monitorings of stock monitoring with id: %s", stockMonitoringId);
+                }
+            }
+
+            cursor.close();
+        }
+    }
+
+    private static ContentValues getContentValues(long stockMonitoringId, AbstractMonitoring monitoring) {
+        ContentValues contentValues = new ContentValues();
+        contentValues.put(STOCK_MONITORING_ID_COLUMN, stockMonitoringId);
+        contentValues.put(TYPE_COLUMN, monitoring.getMonitoringType().name());
+        contentValues.put(COMPARATOR_COLUMN, monitoring.getComparator() != null ? monitoring.getComparator().name() : null);
+        contentValues.put(THRESHOLD_COLUMN, monitoring.getThreshold());
+        contentValues.put(NOTIFIED_COLUMN, monitoring.isNotified() ? 1 : 0);
+
+        return contentValues;
+    }
+
+    /**
+     * Creates query of indicator caches left joined with their values, the columns of both are
+     * named as in their own table
+     *
+     * @param where where clause of query including the where keyword, or empty
+     * @return query of indicator caches with their values
+     */
+    private static String selectIndicatorCacheJoinIndicatorValue(String where) {
+        return "SELECT c." + ID_COLUMN + " AS " + ID_COLUMN + ", "
+                + "c." + TICKER_COLUMN + " AS " + TICKER_COLUMN + ", "
+                + "c." + EXPIRES_COLUMN + " AS " + EXPIRES_COLUMN + ", "
+                + "c." + INDICATOR_STATE_COLUMN + " AS " + INDICATOR_STATE_COLUMN + ", "
+                + "v." + INDICATOR_COLUMN + " AS " + INDICATOR_COLUMN + ", "
+                + "v." + PERIOD_COLUMN + " AS " + PERIOD_COLUMN + ", "
+                + "v." + VALUE_COLUMN + " AS " + VALUE_COLUMN
+                + " FROM " + INDICATOR_CACHE_TABLE_NAME + " c LEFT JOIN " + INDICATOR_VALUE_TABLE_NAME + " v ON v."
+                + TICKER_COLUMN + " = c." + TICKER_COLUMN + where;
+    }
+
+    /**
+     * Creates where clause matching all rows in given table of at most a limited number of tickers,
+     * tickers that don't belong to any active stock monitoring
+     *
+     * @param tableName name of table
+     * @return where clause taking the limit of tickers as only argument
+     */
+    private static String whereUnused(String tableName) {
+        return TICKER_COLUMN + " IN (SELECT DISTINCT " + TICKER_COLUMN + " FROM " + tableName
+                + " WHERE " + TICKER_COLUMN + " NOT IN (" + SELECT_DISTINCT_ACTIVE_TICKERS_FROM_STOCK_MONITORING_TABLE
+                + ") LIMIT ?)";
     }
 }
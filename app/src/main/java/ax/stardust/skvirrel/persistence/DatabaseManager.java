@@ -4,21 +4,36 @@ import android.annotation.SuppressLint;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
+import org.apache.commons.lang3.EnumUtils;
+
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import ax.stardust.skvirrel.cache.CompanyName;
 import ax.stardust.skvirrel.cache.IndicatorCache;
+import ax.stardust.skvirrel.cache.IndicatorState;
+import ax.stardust.skvirrel.cache.PriceHistory;
 import ax.stardust.skvirrel.monitoring.AbstractMonitoring;
+import ax.stardust.skvirrel.monitoring.Criteria;
 import ax.stardust.skvirrel.monitoring.StockMonitoring;
-import ax.stardust.skvirrel.persistence.gson.AbstractMonitoringJsonAdapter;
+import ax.stardust.skvirrel.stock.indicator.IndicatorSpec;
 import timber.log.Timber;
+import yahoofinance.histquotes.HistoricalQuote;
 
 /**
  * Manager responsible for database handling.
@@ -35,9 +50,7 @@ public class DatabaseManager {
      */
     public DatabaseManager(Context context) {
         this.context = context;
-        gson = new GsonBuilder()
-                .registerTypeAdapter(AbstractMonitoring.class, new AbstractMonitoringJsonAdapter())
-                .create();
+        gson = new Gson();
     }
 
     /**
@@ -51,6 +64,7 @@ public class DatabaseManager {
             long id = database.insert(DatabaseHelper.STOCK_MONITORING_TABLE_NAME,
                     null, getContentValues(stockMonitoring));
             stockMonitoring.setId(id);
+            writeMonitorings(database, stockMonitoring);
 
             Timber.d("Stock monitoring with id: %s and ticker: %s inserted",
                     stockMonitoring.getId(),
@@ -67,16 +81,7 @@ public class DatabaseManager {
      * @return inserted indicator cache with the newly created id after insertion
      */
     public IndicatorCache insert(IndicatorCache indicatorCache) {
-        TransactionHandler.runInTransaction(context, database -> {
-            long id = database.insert(DatabaseHelper.INDICATOR_CACHE_TABLE_NAME,
-                    null, getContentValues(indicatorCache));
-            indicatorCache.setId(id);
-
-            Timber.d("Indicator cache with id: %s and ticker: %s inserted",
-                    indicatorCache.getId(),
-                    indicatorCache.getTicker());
-        });
-
+        TransactionHandler.runInTransaction(context, database -> insert(database, indicatorCache));
         return indicatorCache;
     }
 
@@ -87,17 +92,22 @@ public class DatabaseManager {
      * @return updated stock monitoring
      */
     public StockMonitoring update(StockMonitoring stockMonitoring) {
-        TransactionHandler.runInTransaction(context, database -> {
-            // ignore result on update, it's always 0
-            database.update(DatabaseHelper.STOCK_MONITORING_TABLE_NAME, getContentValues(stockMonitoring),
-                    DatabaseHelper.ID_COLUMN + " = ?", new String[]{String.valueOf(stockMonitoring.getId())});
+        TransactionHandler.runInTransaction(context, database -> update(database, stockMonitoring));
+        return stockMonitoring;
+    }
 
-            Timber.d("Stock monitoring with id: %s and ticker: %s updated",
-                    stockMonitoring.getId(),
-                    stockMonitoring.getTicker());
-        });
+    /**
+     * Updates all given stock monitorings in one transaction
+     *
+     * @param stockMonitorings stock monitorings to be updated
+     */
+    public void updateAll(Collection<StockMonitoring> stockMonitorings) {
+        if (stockMonitorings.isEmpty()) {
+            return;
+        }
 
-        return stockMonitoring;
+        TransactionHandler.runInTransaction(context, database ->
+                stockMonitorings.forEach(stockMonitoring -> update(database, stockMonitoring)));
     }
 
     /**
@@ -107,16 +117,7 @@ public class DatabaseManager {
      * @return updated indicator cache
      */
     public IndicatorCache update(IndicatorCache indicatorCache) {
-        TransactionHandler.runInTransaction(context, database -> {
-            // ignore results on update, it's always 0
-            database.update(DatabaseHelper.INDICATOR_CACHE_TABLE_NAME, getContentValues(indicatorCache),
-                    DatabaseHelper.ID_COLUMN + " = ?", new String[]{String.valueOf(indicatorCache.getId())});
-
-            Timber.d("Indicator cache with id: %s and ticker: %s updated",
-                    indicatorCache.getId(),
-                    indicatorCache.getTicker());
-        });
-
+        TransactionHandler.runInTransaction(context, database -> update(database, indicatorCache));
         return indicatorCache;
     }
 
@@ -125,54 +126,44 @@ public class DatabaseManager {
      *
      * @return list of all stock monitorings existing in database
      */
-    @SuppressLint("StringFormatInTimber")
     public List<StockMonitoring> fetchAllStockMonitorings() {
-        List<StockMonitoring> stockMonitorings = new ArrayList<>();
-
-        TransactionHandler.runInTransaction(context, database -> {
-            Cursor cursor = database.rawQuery(DatabaseHelper.SELECT_ALL_FROM_STOCK_MONITORING_TABLE, null);
-            if (cursor != null) {
-                if (cursor.moveToFirst()) {
-                    do {
-                        stockMonitorings.add(getStockMonitoring(cursor));
-                    } while (cursor.moveToNext());
-                }
-
-                cursor.close();
-                stockMonitorings.sort(Comparator.comparing(StockMonitoring::getSortingOrder));
-            }
-
-            Timber.d("Stock monitorings fetched with id's and tickers: %s",
-                    stockMonitorings.stream()
-                            .map(sm -> String.format("%s(%s)", sm.getId(), sm.getTicker()))
-                            .collect(Collectors.joining(", ")));
-        });
-
-        return stockMonitorings;
+        return fetchStockMonitorings(DatabaseHelper.SELECT_ALL_FROM_STOCK_MONITORING_TABLE,
+                DatabaseHelper.SELECT_ALL_FROM_MONITORING_TABLE);
     }
 
     /**
-     * Fetch all stock monitorings that should be monitored
+     * Fetch all stock monitorings that should be monitored, that is the active ones
      *
      * @return list of stock monitorings that should be monitored
      */
     public List<StockMonitoring> fetchAllStockMonitoringsForMonitoring() {
-        return fetchAllStockMonitorings().stream()
-                .filter(StockMonitoring::hasValidDataForMonitoring)
-                .filter(StockMonitoring::shouldBeMonitored)
-                .collect(Collectors.toList());
+        return fetchStockMonitorings(DatabaseHelper.SELECT_ALL_ACTIVE_FROM_STOCK_MONITORING_TABLE,
+                DatabaseHelper.SELECT_ALL_ACTIVE_FROM_MONITORING_TABLE);
     }
 
     /**
-     * Fetch all tickers for stock monitorings that should be monitored
+     * Fetch all tickers for stock monitorings that should be monitored, without reading the
+     * stock monitorings
      *
      * @return array list of tickers that should be monitored
      */
     public ArrayList<String> fetchAllTickersForMonitoring() {
-        return fetchAllStockMonitoringsForMonitoring().stream()
-                .map(StockMonitoring::getTicker)
-                .distinct()
-                .collect(Collectors.toCollection(ArrayList::new));
+        ArrayList<String> tickers = new ArrayList<>();
+
+        TransactionHandler.runRead(context, database -> {
+            Cursor cursor = database.rawQuery(DatabaseHelper.SELECT_DISTINCT_ACTIVE_TICKERS_FROM_STOCK_MONITORING_TABLE, null);
+            if (cursor != null) {
+                while (cursor.moveToNext()) {
+                    tickers.add(cursor.getString(0));
+                }
+
+                cursor.close();
+            }
+
+            Timber.d("Tickers for monitoring fetched: %s", tickers);
+        });
+
+        return tickers;
     }
 
     /**
@@ -184,17 +175,10 @@ public class DatabaseManager {
     public List<IndicatorCache> fetchAllIndicatorCaches() {
         List<IndicatorCache> indicatorCaches = new ArrayList<>();
 
-        TransactionHandler.runInTransaction(context, database -> {
-            Cursor cursor = database.rawQuery(DatabaseHelper.SELECT_ALL_FROM_INDICATOR_CACHE_TABLE, null);
-            if (cursor != null) {
-                if (cursor.moveToFirst()) {
-                    do {
-                        indicatorCaches.add(getIndicatorCache(cursor));
-                    } while (cursor.moveToNext());
-                }
-
-                cursor.close();
-            }
+        // indicator caches and their values are read by one query, so they're read as of the same state
+        TransactionHandler.runRead(context, database -> {
+            indicatorCaches.addAll(readIndicatorCaches(database.rawQuery(
+                    DatabaseHelper.SELECT_ALL_FROM_INDICATOR_CACHE_JOIN_INDICATOR_VALUE_TABLE, null)));
 
             Timber.d("Indicator caches fetched with id's and tickers: %s",
                     indicatorCaches.stream()
@@ -214,38 +198,131 @@ public class DatabaseManager {
     public IndicatorCache fetchIndicatorCacheForTicker(String ticker) {
         AtomicReference<IndicatorCache> indicatorCacheReference = new AtomicReference<>();
 
+        // indicator cache and its values are read by one query, so they're read as of the same state
+        TransactionHandler.runRead(context, database -> {
+            // should only be one indicator cache cause of unique constraint on column ticker
+            readIndicatorCaches(database.rawQuery(
+                    DatabaseHelper.SELECT_ALL_FOR_TICKER_FROM_INDICATOR_CACHE_JOIN_INDICATOR_VALUE_TABLE,
+                    new String[]{ticker})).stream()
+                    .findFirst()
+                    .ifPresent(indicatorCache -> {
+                        indicatorCacheReference.set(indicatorCache);
+
+                        Timber.d("Indicator cache fetched with id:%s and ticker: %s",
+                                indicatorCache.getId(), indicatorCache.getTicker());
+                    });
+        });
+
+        return indicatorCacheReference.get();
+    }
+
+    /**
+     * Fetch price history for given ticker
+     *
+     * @param ticker ticker for which price history is to be fetched
+     * @return price history for ticker, empty if no price history is stored
+     */
+    public PriceHistory fetchPriceHistoryForTicker(String ticker) {
+        List<HistoricalQuote> historicalQuotes = new ArrayList<>();
+
+        TransactionHandler.runRead(context, database -> {
+            Cursor cursor = database.rawQuery(DatabaseHelper.SELECT_ALL_FOR_TICKER_FROM_PRICE_HISTORY_TABLE, new String[]{ticker});
+            if (cursor != null) {
+                if (cursor.moveToFirst()) {
+                    do {
+                        historicalQuotes.add(getHistoricalQuote(cursor));
+                    } while (cursor.moveToNext());
+                }
+
+                cursor.close();
+            }
+
+            Timber.d("Price history fetched with %s quotes for ticker: %s", historicalQuotes.size(), ticker);
+        });
+
+        return new PriceHistory(ticker, historicalQuotes);
+    }
+
+    /**
+     * Updates stored price history so it's the same as given price history. Only the quotes from
+     * given date are written, stored quotes from given date are replaced and stored quotes older
+     * than the oldest quote of given price history are deleted
+     *
+     * @param priceHistory price history to be updated
+     * @param from         date from which quotes of price history are written
+     * @return updated price history
+     */
+    public PriceHistory update(PriceHistory priceHistory, Calendar from) {
+        List<HistoricalQuote> historicalQuotes = priceHistory.getHistoricalQuotes();
+        long fromEpochDay = PriceHistory.toEpochDay(from);
+        long oldestEpochDay = historicalQuotes.isEmpty()
+                ? fromEpochDay : PriceHistory.toEpochDay(historicalQuotes.get(0).getDate());
+
         TransactionHandler.runInTransaction(context, database -> {
-            Cursor cursor = database.rawQuery(DatabaseHelper.SELECT_ALL_FOR_TICKER_FROM_INDICATOR_CACHE_TABLE, new String[]{ticker});
+            database.delete(DatabaseHelper.PRICE_HISTORY_TABLE_NAME,
+                    DatabaseHelper.TICKER_COLUMN + " = ? AND (" + DatabaseHelper.DATE_COLUMN + " < ? OR "
+                            + DatabaseHelper.DATE_COLUMN + " >= ?)",
+                    new String[]{priceHistory.getTicker(), String.valueOf(oldestEpochDay), String.valueOf(fromEpochDay)});
+
+            historicalQuotes.stream()
+                    .filter(historicalQuote -> PriceHistory.toEpochDay(historicalQuote.getDate()) >= fromEpochDay)
+                    .forEach(historicalQuote -> database.insert(DatabaseHelper.PRICE_HISTORY_TABLE_NAME,
+                            null, getContentValues(priceHistory.getTicker(), historicalQuote)));
+
+            Timber.d("Price history with ticker: %s updated", priceHistory.getTicker());
+        });
+
+        return priceHistory;
+    }
+
+    /**
+     * Fetch company name for given ticker
+     *
+     * @param ticker ticker for which company name is to be fetched
+     * @return company name for ticker or null if it doesn't exist
+     */
+    public CompanyName fetchCompanyNameForTicker(String ticker) {
+        AtomicReference<CompanyName> companyNameReference = new AtomicReference<>();
+
+        TransactionHandler.runRead(context, database -> {
+            Cursor cursor = database.rawQuery(DatabaseHelper.SELECT_ALL_FOR_TICKER_FROM_COMPANY_NAME_TABLE, new String[]{ticker});
             if (cursor != null) {
                 if (cursor.moveToFirst()) { // should only be one row cause of unique constraint on column ticker
-                    IndicatorCache indicatorCache = getIndicatorCache(cursor);
-                    indicatorCacheReference.set(indicatorCache);
+                    companyNameReference.set(getCompanyName(cursor));
 
-                    Timber.d("Indicator cache fetched with id:%s and ticker: %s",
-                            indicatorCache.getId(), indicatorCache.getTicker());
+                    Timber.d("Company name fetched for ticker: %s", ticker);
                 }
                 cursor.close();
             }
         });
 
-        return indicatorCacheReference.get();
+        return companyNameReference.get();
     }
 
     /**
-     * Deletes stock monitoring
+     * Updates company name, it's inserted if no company name exists for the ticker
      *
-     * @param stockMonitoring stock monitoring to be deleted
+     * @param companyName company name to be updated
+     * @return updated company name
      */
-    public void delete(StockMonitoring stockMonitoring) {
+    public CompanyName update(CompanyName companyName) {
         TransactionHandler.runInTransaction(context, database -> {
-            // returns rows affected by operation, for now we ignore it
-            database.delete(DatabaseHelper.STOCK_MONITORING_TABLE_NAME,
-                    DatabaseHelper.ID_COLUMN + " = ?", new String[]{String.valueOf(stockMonitoring.getId())});
+            database.insertWithOnConflict(DatabaseHelper.COMPANY_NAME_TABLE_NAME, null,
+                    getContentValues(companyName), SQLiteDatabase.CONFLICT_REPLACE);
 
-            Timber.d("Stock monitoring with id: %s and ticker: %s deleted",
-                    stockMonitoring.getId(),
-                    stockMonitoring.getTicker());
+            Timber.d("Company name with ticker: %s updated", companyName.getTicker());
         });
+
+        return companyName;
+    }
+
+    /**
+     * Deletes stock monitoring
+     *
+     * @param stockMonitoring stock monitoring to be deleted
+     */
+    public void delete(StockMonitoring stockMonitoring) {
+        TransactionHandler.runInTransaction(context, database -> delete(database, stockMonitoring));
     }
 
     /**
@@ -258,6 +335,8 @@ public class DatabaseManager {
             // returns row affected by operation, for now we ignore it
             database.delete(DatabaseHelper.INDICATOR_CACHE_TABLE_NAME,
                     DatabaseHelper.ID_COLUMN + " = ?", new String[]{String.valueOf(indicatorCache.getId())});
+            database.delete(DatabaseHelper.INDICATOR_VALUE_TABLE_NAME,
+                    DatabaseHelper.TICKER_COLUMN + " = ?", new String[]{indicatorCache.getTicker()});
 
             Timber.d("Indicator cache with id: %s and ticker: %S deleted",
                     indicatorCache.getId(),
@@ -265,27 +344,148 @@ public class DatabaseManager {
         });
     }
 
+    /**
+     * Deletes cache rows not needed anymore, in other words indicator caches, indicator values
+     * and price history of tickers without active stock monitoring together with expired company names.
+     * Rows of at most given number of tickers are deleted from each table, so a large backlog is worked
+     * off over several calls instead of holding the database for long. Cached data of a ticker is
+     * always deleted as a whole, a price history is never left partly deleted
+     *
+     * @param maxTickers maximum number of tickers whose rows are deleted from each table
+     * @return total number of rows deleted
+     */
+    public int deleteUnusedCacheRows(int maxTickers) {
+        AtomicInteger deleted = new AtomicInteger();
+        String limit = String.valueOf(maxTickers);
+
+        TransactionHandler.runInTransaction(context, database -> {
+            deleted.addAndGet(database.delete(DatabaseHelper.INDICATOR_CACHE_TABLE_NAME,
+                    DatabaseHelper.WHERE_UNUSED_INDICATOR_CACHE, new String[]{limit}));
+            deleted.addAndGet(database.delete(DatabaseHelper.INDICATOR_VALUE_TABLE_NAME,
+                    DatabaseHelper.WHERE_UNUSED_INDICATOR_VALUE, new String[]{limit}));
+            deleted.addAndGet(database.delete(DatabaseHelper.PRICE_HISTORY_TABLE_NAME,
+                    DatabaseHelper.WHERE_UNUSED_PRICE_HISTORY, new String[]{limit}));
+            deleted.addAndGet(database.delete(DatabaseHelper.COMPANY_NAME_TABLE_NAME,
+                    DatabaseHelper.WHERE_EXPIRED_COMPANY_NAME,
+                    new String[]{String.valueOf(System.currentTimeMillis()), limit}));
+
+            Timber.d("%s unused cache rows deleted", deleted.get());
+        });
+
+        return deleted.get();
+    }
+
     /**
      * Adds any missing monitoring to an existing stock monitoring, can be seen as a clean up
      * operation to ensure any newly introduced monitorings in the code has been added to any
      * existing stock monitoring
      */
     public void addMonitoringsIfMissing() {
-        fetchAllStockMonitorings().forEach(stockMonitoring -> {
-            if (stockMonitoring.getMonitoringOptions().addMonitoringsIfMissing(stockMonitoring)) {
-                // monitoring has been added, update the stock monitoring in database
-                update(stockMonitoring);
+        // update the stock monitorings to which monitorings have been added in one go
+        updateAll(fetchAllStockMonitorings().stream()
+                .filter(stockMonitoring -> stockMonitoring.getMonitoringOptions().addMonitoringsIfMissing(stockMonitoring))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Fetch stock monitorings with given query together with their monitorings, which are read
+     * in one go with given monitoring query
+     */
+    @SuppressLint("StringFormatInTimber")
+    private List<StockMonitoring> fetchStockMonitorings(String stockMonitoringQuery, String monitoringQuery) {
+        List<StockMonitoring> stockMonitorings = new ArrayList<>();
+
+        // no snapshot needed, monitorings of a stock monitoring written in between the two queries
+        // are either read with it or belong to a stock monitoring that wasn't read
+        TransactionHandler.runRead(context, database -> {
+            Cursor cursor = database.rawQuery(stockMonitoringQuery, null);
+            if (cursor != null) {
+                if (cursor.moveToFirst()) {
+                    do {
+                        stockMonitorings.add(getStockMonitoring(cursor));
+                    } while (cursor.moveToNext());
+                }
+
+                cursor.close();
+                stockMonitorings.sort(Comparator.comparing(StockMonitoring::getSortingOrder));
             }
+
+            // monitorings of all stock monitorings are read in one go
+            Map<Long, StockMonitoring> stockMonitoringsById = stockMonitorings.stream()
+                    .collect(Collectors.toMap(StockMonitoring::getId, Function.identity()));
+            readMonitorings(database.rawQuery(monitoringQuery, null), stockMonitoringsById::get);
+
+            Timber.d("Stock monitorings fetched with id's and tickers: %s",
+                    stockMonitorings.stream()
+                            .map(sm -> String.format("%s(%s)", sm.getId(), sm.getTicker()))
+                            .collect(Collectors.joining(", ")));
         });
+
+        return stockMonitorings;
+    }
+
+    private void insert(SQLiteDatabase database, IndicatorCache indicatorCache) {
+        long id = database.insert(DatabaseHelper.INDICATOR_CACHE_TABLE_NAME,
+                null, getContentValues(indicatorCache));
+        indicatorCache.setId(id);
+        writeIndicatorValues(database, indicatorCache);
+
+        Timber.d("Indicator cache with id: %s and ticker: %s inserted",
+                indicatorCache.getId(),
+                indicatorCache.getTicker());
+    }
+
+    private void update(SQLiteDatabase database, StockMonitoring stockMonitoring) {
+        SQLiteStatement statement = getStatement(database, DatabaseHelper.UPDATE_STOCK_MONITORING);
+        bindStringOrNull(statement, 1, stockMonitoring.getTicker());
+        bindStringOrNull(statement, 2, stockMonitoring.getCompanyName());
+        statement.bindString(3, stockMonitoring.getViewState().name());
+        statement.bindLong(4, stockMonitoring.getSortingOrder());
+        statement.bindLong(5, stockMonitoring.isActive() ? 1 : 0);
+        statement.bindLong(6, stockMonitoring.getId());
+        statement.executeUpdateDelete();
+        writeMonitorings(database, stockMonitoring);
+
+        Timber.d("Stock monitoring with id: %s and ticker: %s updated",
+                stockMonitoring.getId(),
+                stockMonitoring.getTicker());
+    }
+
+    private void update(SQLiteDatabase database, IndicatorCache indicatorCache) {
+        SQLiteStatement statement = getStatement(database, DatabaseHelper.UPDATE_INDICATOR_CACHE);
+        statement.bindString(1, indicatorCache.getTicker());
+        statement.bindLong(2, indicatorCache.getExpires() != null
+                ? indicatorCache.getExpires().getTime() : Integer.MIN_VALUE);
+        bindStringOrNull(statement, 3, indicatorCache.getIndicatorState() != null
+                ? gson.toJson(indicatorCache.getIndicatorState()) : null);
+        statement.bindLong(4, indicatorCache.getId());
+        statement.executeUpdateDelete();
+        writeIndicatorValues(database, indicatorCache);
+
+        Timber.d("Indicator cache with id: %s and ticker: %s updated",
+                indicatorCache.getId(),
+                indicatorCache.getTicker());
+    }
+
+    private void delete(SQLiteDatabase database, StockMonitoring stockMonitoring) {
+        // returns rows affected by operation, for now we ignore it
+        database.delete(DatabaseHelper.STOCK_MONITORING_TABLE_NAME,
+                DatabaseHelper.ID_COLUMN + " = ?", new String[]{String.valueOf(stockMonitoring.getId())});
+        database.delete(DatabaseHelper.MONITORING_TABLE_NAME,
+                DatabaseHelper.STOCK_MONITORING_ID_COLUMN + " = ?", new String[]{String.valueOf(stockMonitoring.getId())});
+
+        Timber.d("Stock monitoring with id: %s and ticker: %s deleted",
+                stockMonitoring.getId(),
+                stockMonitoring.getTicker());
     }
 
     private ContentValues getContentValues(StockMonitoring stockMonitoring) {
         ContentValues contentValues = new ContentValues();
         contentValues.put(DatabaseHelper.TICKER_COLUMN, stockMonitoring.getTicker());
         contentValues.put(DatabaseHelper.COMPANY_NAME_COLUMN, stockMonitoring.getCompanyName());
-        contentValues.put(DatabaseHelper.MONITORING_OPTIONS_COLUMN, gson.toJson(stockMonitoring.getMonitoringOptions()));
         contentValues.put(DatabaseHelper.VIEW_STATE_COLUMN, stockMonitoring.getViewState().name());
         contentValues.put(DatabaseHelper.SORTING_ORDER_COLUMN, stockMonitoring.getSortingOrder());
+        contentValues.put(DatabaseHelper.ACTIVE_COLUMN, stockMonitoring.isActive() ? 1 : 0);
 
         return contentValues;
     }
@@ -293,9 +493,6 @@ public class DatabaseManager {
     private ContentValues getContentValues(IndicatorCache indicatorCache) {
         ContentValues contentValues = new ContentValues();
         contentValues.put(DatabaseHelper.TICKER_COLUMN, indicatorCache.getTicker());
-        contentValues.put(DatabaseHelper.SMA_COLUMN, indicatorCache.getSma());
-        contentValues.put(DatabaseHelper.EMA_COLUMN, indicatorCache.getEma());
-        contentValues.put(DatabaseHelper.RSI_COLUMN, indicatorCache.getRsi());
 
         if (indicatorCache.getExpires() != null) {
             contentValues.put(DatabaseHelper.EXPIRES_COLUMN, indicatorCache.getExpires().getTime());
@@ -303,6 +500,33 @@ public class DatabaseManager {
             contentValues.put(DatabaseHelper.EXPIRES_COLUMN, Integer.MIN_VALUE);
         }
 
+        if (indicatorCache.getIndicatorState() != null) {
+            contentValues.put(DatabaseHelper.INDICATOR_STATE_COLUMN, gson.toJson(indicatorCache.getIndicatorState()));
+        } else {
+            contentValues.putNull(DatabaseHelper.INDICATOR_STATE_COLUMN);
+        }
+
+        return contentValues;
+    }
+
+    private ContentValues getContentValues(String ticker, HistoricalQuote historicalQuote) {
+        ContentValues contentValues = new ContentValues();
+        contentValues.put(DatabaseHelper.TICKER_COLUMN, ticker);
+        contentValues.put(DatabaseHelper.DATE_COLUMN, PriceHistory.toEpochDay(historicalQuote.getDate()));
+        contentValues.put(DatabaseHelper.OPEN_COLUMN, toDouble(historicalQuote.getOpen()));
+        contentValues.put(DatabaseHelper.HIGH_COLUMN, toDouble(historicalQuote.getHigh()));
+        contentValues.put(DatabaseHelper.LOW_COLUMN, toDouble(historicalQuote.getLow()));
+        contentValues.put(DatabaseHelper.CLOSE_COLUMN, toDouble(historicalQuote.getClose()));
+
+        return contentValues;
+    }
+
+    private ContentValues getContentValues(CompanyName companyName) {
+        ContentValues contentValues = new ContentValues();
+        contentValues.put(DatabaseHelper.TICKER_COLUMN, companyName.getTicker());
+        contentValues.put(DatabaseHelper.COMPANY_NAME_COLUMN, companyName.getName());
+        contentValues.put(DatabaseHelper.EXPIRES_COLUMN, companyName.getExpires());
+
         return contentValues;
     }
 
@@ -313,17 +537,7 @@ public class DatabaseManager {
         stockMonitoring.setViewState(StockMonitoring.ViewState.valueOf(cursor.getString(getColumnIndex(cursor, DatabaseHelper.VIEW_STATE_COLUMN))));
         stockMonitoring.setSortingOrder(cursor.getInt(getColumnIndex(cursor, DatabaseHelper.SORTING_ORDER_COLUMN)));
 
-        // special handling for monitoring options as the specific monitorings within it should
-        // hold a reference to the stock monitoring that owns it, and this reference is not
-        // serializable which means we must set it manual
-        StockMonitoring.MonitoringOptions monitoringOptions = gson.fromJson(
-                cursor.getString(getColumnIndex(cursor, DatabaseHelper.MONITORING_OPTIONS_COLUMN)),
-                StockMonitoring.MonitoringOptions.class);
-        monitoringOptions.setStockMonitoring(stockMonitoring);
-
-        // at last set monitoring options to stock monitoring
-        stockMonitoring.setMonitoringOptions(monitoringOptions);
-
+        // monitorings are read separately, until then stock monitoring holds new monitorings
         return stockMonitoring;
     }
 
@@ -331,14 +545,156 @@ public class DatabaseManager {
         IndicatorCache indicatorCache = new IndicatorCache(
                 cursor.getInt(getColumnIndex(cursor, DatabaseHelper.ID_COLUMN)),
                 cursor.getString(getColumnIndex(cursor, DatabaseHelper.TICKER_COLUMN)));
-        indicatorCache.setSma(cursor.getDouble(getColumnIndex(cursor, DatabaseHelper.SMA_COLUMN)));
-        indicatorCache.setEma(cursor.getDouble(getColumnIndex(cursor, DatabaseHelper.EMA_COLUMN)));
-        indicatorCache.setRsi(cursor.getDouble(getColumnIndex(cursor, DatabaseHelper.RSI_COLUMN)));
         indicatorCache.setExpires(cursor.getLong(getColumnIndex(cursor, DatabaseHelper.EXPIRES_COLUMN)));
 
+        // indicator state is missing until indicator cache has been refreshed for the first time
+        String indicatorState = cursor.getString(getColumnIndex(cursor, DatabaseHelper.INDICATOR_STATE_COLUMN));
+        if (indicatorState != null) {
+            indicatorCache.setIndicatorState(gson.fromJson(indicatorState, IndicatorState.class));
+        }
+
         return indicatorCache;
     }
 
+    /**
+     * Writes all values of given indicator cache, replacing any existing value of the same
+     * ticker, indicator and period
+     */
+    private void writeIndicatorValues(SQLiteDatabase database, IndicatorCache indicatorCache) {
+        long asOf = System.currentTimeMillis();
+        SQLiteStatement statement = getStatement(database, DatabaseHelper.UPSERT_INDICATOR_VALUE);
+
+        indicatorCache.getValues().forEach((indicatorSpec, value) -> {
+            statement.bindString(1, indicatorCache.getTicker());
+            statement.bindString(2, indicatorSpec.getType().name());
+            statement.bindLong(3, indicatorSpec.getPeriod());
+            statement.bindDouble(4, value);
+            statement.bindLong(5, asOf);
+            if (indicatorCache.getExpires() != null) {
+                statement.bindLong(6, indicatorCache.getExpires().getTime());
+            } else {
+                statement.bindNull(6);
+            }
+            statement.executeInsert();
+        });
+    }
+
+    private void writeMonitorings(SQLiteDatabase database, StockMonitoring stockMonitoring) {
+        SQLiteStatement statement = getStatement(database, DatabaseHelper.UPSERT_MONITORING);
+
+        stockMonitoring.getMonitoringOptions().get().forEach(monitoring -> {
+            statement.bindLong(1, stockMonitoring.getId());
+            statement.bindString(2, monitoring.getMonitoringType().name());
+            bindStringOrNull(statement, 3, monitoring.getComparator() != null
+                    ? monitoring.getComparator().name() : null);
+            statement.bindDouble(4, monitoring.getThreshold());
+            statement.bindLong(5, monitoring.isNotified() ? 1 : 0);
+            statement.executeInsert();
+        });
+    }
+
+    /**
+     * Reads monitorings from given cursor into the stock monitorings resolved by stock monitoring
+     * id of each monitoring, monitorings without a stock monitoring or of unknown types are skipped
+     */
+    private void readMonitorings(Cursor cursor, Function<Long, StockMonitoring> stockMonitoringResolver) {
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                do {
+                    StockMonitoring stockMonitoring = stockMonitoringResolver.apply(
+                            cursor.getLong(getColumnIndex(cursor, DatabaseHelper.STOCK_MONITORING_ID_COLUMN)));
+                    String type = cursor.getString(getColumnIndex(cursor, DatabaseHelper.TYPE_COLUMN));
+
+                    if (stockMonitoring != null && EnumUtils.isValidEnum(AbstractMonitoring.MonitoringType.class, type)) {
+                        AbstractMonitoring monitoring = stockMonitoring.getMonitoringOptions()
+                                .getMonitoringOfType(AbstractMonitoring.MonitoringType.valueOf(type));
+                        monitoring.setComparator(EnumUtils.getEnum(Criteria.Comparator.class,
+                                cursor.getString(getColumnIndex(cursor, DatabaseHelper.COMPARATOR_COLUMN))));
+                        monitoring.setThreshold(cursor.getDouble(getColumnIndex(cursor, DatabaseHelper.THRESHOLD_COLUMN)));
+
+                        if (cursor.getInt(getColumnIndex(cursor, DatabaseHelper.NOTIFIED_COLUMN)) != 0) {
+                            monitoring.notifyy();
+                        } else {
+                            monitoring.resetNotified();
+                        }
+                    }
+                } while (cursor.moveToNext());
+            }
+
+            cursor.close();
+        }
+    }
+
+    private SQLiteStatement getStatement(SQLiteDatabase database, String sql) {
+        return DatabaseHelper.getInstance(context).getStatement(database, sql);
+    }
+
+    private static void bindStringOrNull(SQLiteStatement statement, int index, String value) {
+        if (value != null) {
+            statement.bindString(index, value);
+        } else {
+            statement.bindNull(index);
+        }
+    }
+
+    /**
+     * Reads indicator caches with their values from given cursor of indicator caches joined with
+     * their values, values of unknown indicators are skipped
+     */
+    private List<IndicatorCache> readIndicatorCaches(Cursor cursor) {
+        Map<Long, IndicatorCache> indicatorCachesById = new LinkedHashMap<>();
+
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                do {
+                    IndicatorCache indicatorCache = indicatorCachesById.computeIfAbsent(
+                            cursor.getLong(getColumnIndex(cursor, DatabaseHelper.ID_COLUMN)),
+                            id -> getIndicatorCache(cursor));
+                    String indicator = cursor.getString(getColumnIndex(cursor, DatabaseHelper.INDICATOR_COLUMN));
+
+                    // indicator is null if indicator cache has no values at all
+                    if (indicator != null && EnumUtils.isValidEnum(IndicatorSpec.Type.class, indicator)) {
+                        IndicatorSpec indicatorSpec = IndicatorSpec.of(IndicatorSpec.Type.valueOf(indicator),
+                                cursor.getInt(getColumnIndex(cursor, DatabaseHelper.PERIOD_COLUMN)));
+                        indicatorCache.setValue(indicatorSpec,
+                                cursor.getDouble(getColumnIndex(cursor, DatabaseHelper.VALUE_COLUMN)));
+                    }
+                } while (cursor.moveToNext());
+            }
+
+            cursor.close();
+        }
+
+        return new ArrayList<>(indicatorCachesById.values());
+    }
+
+    private HistoricalQuote getHistoricalQuote(Cursor cursor) {
+        HistoricalQuote historicalQuote = new HistoricalQuote();
+        historicalQuote.setDate(PriceHistory.toCalendar(cursor.getLong(getColumnIndex(cursor, DatabaseHelper.DATE_COLUMN))));
+        historicalQuote.setOpen(getBigDecimal(cursor, DatabaseHelper.OPEN_COLUMN));
+        historicalQuote.setHigh(getBigDecimal(cursor, DatabaseHelper.HIGH_COLUMN));
+        historicalQuote.setLow(getBigDecimal(cursor, DatabaseHelper.LOW_COLUMN));
+        historicalQuote.setClose(getBigDecimal(cursor, DatabaseHelper.CLOSE_COLUMN));
+
+        return historicalQuote;
+    }
+
+    private CompanyName getCompanyName(Cursor cursor) {
+        return new CompanyName(
+                cursor.getString(getColumnIndex(cursor, DatabaseHelper.TICKER_COLUMN)),
+                cursor.getString(getColumnIndex(cursor, DatabaseHelper.COMPANY_NAME_COLUMN)),
+                cursor.getLong(getColumnIndex(cursor, DatabaseHelper.EXPIRES_COLUMN)));
+    }
+
+    private BigDecimal getBigDecimal(Cursor cursor, String column) {
+        int columnIndex = getColumnIndex(cursor, column);
+        return cursor.isNull(columnIndex) ? null : BigDecimal.valueOf(cursor.getDouble(columnIndex));
+    }
+
+    private static Double toDouble(BigDecimal bigDecimal) {
+        return bigDecimal != null ? bigDecimal.doubleValue() : null;
+    }
+
     private int getColumnIndex(Cursor cursor, String column) {
         int columnIndex = cursor.getColumnIndex(column);
         if (columnIndex < 0) {
@@ -9,23 +9,38 @@ import android.database.sqlite.SQLiteDatabase;
 public class TransactionHandler {
 
     /**
-     * Ensures that a new database connection is opened before transaction is executed.
-     * The opened connection will also be closed after execution.
+     * Executes transaction as one database transaction with the process wide database connection,
+     * which is opened if needed. Meant for writes, and for reads that must see the same state of
+     * database through several queries. Everything executed is committed at once if the transaction
+     * completes, else it's all rolled back. Transactions run within a transaction are part of the
+     * outer one and committed with it. The connection is kept open after execution, see
+     * {@link DatabaseHelper#getInstance(Context)}.
      *
-     * @param context     context for which a database connection is opened
+     * @param context     context used to resolve the database connection
      * @param transaction transaction to be executed
      */
-    @SuppressWarnings("TryFinallyCanBeTryWithResources")
     public static void runInTransaction(final Context context, final Transaction transaction) {
-        SQLiteDatabase database = open(context);
+        SQLiteDatabase database = DatabaseHelper.getInstance(context).getWritableDatabase();
+        database.beginTransactionNonExclusive();
         try {
             transaction.execute(database);
+            database.setTransactionSuccessful();
         } finally {
-            database.close();
+            database.endTransaction();
         }
     }
 
-    private static SQLiteDatabase open(Context context) {
-        return new DatabaseHelper(context).getWritableDatabase();
+    /**
+     * Executes read with the process wide database connection, which is opened if needed, without
+     * a database transaction. The read doesn't hold the primary connection, so with write-ahead
+     * logging it runs on a read connection and doesn't wait for writes in progress. Each query sees
+     * the database as it was when the query started, reads needing the same state through several
+     * queries should use {@link #runInTransaction(Context, Transaction)} instead.
+     *
+     * @param context context used to resolve the database connection
+     * @param read    read to be executed
+     */
+    public static void runRead(final Context context, final Transaction read) {
+        read.execute(DatabaseHelper.getInstance(context).getReadableDatabase());
     }
 }
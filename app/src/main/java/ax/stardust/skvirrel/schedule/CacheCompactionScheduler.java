@@ -0,0 +1,53 @@
+package ax.stardust.skvirrel.schedule;
+
+import android.app.job.JobInfo;
+import android.app.job.JobScheduler;
+import android.content.ComponentName;
+import android.content.Context;
+
+import ax.stardust.skvirrel.BuildConfig;
+import ax.stardust.skvirrel.service.CacheCompactionJobService;
+import ax.stardust.skvirrel.service.ServiceParams;
+import timber.log.Timber;
+
+/**
+ * Class responsible for scheduling the periodic cache compaction job.
+ */
+public class CacheCompactionScheduler {
+
+    // time between runs in minutes, 15 minutes is the shortest period allowed
+    private static final int PERIOD_DEBUG = 15;
+    private static final int PERIOD_RELEASE = 24 * 60;
+
+    /**
+     * Schedules cache compaction job, unless it's already scheduled. The job is persisted and
+     * runs periodically when battery isn't low
+     *
+     * @param context context for the job
+     */
+    public static void scheduleJob(Context context) {
+        JobScheduler jobScheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (jobScheduler.getPendingJob(ServiceParams.CACHE_COMPACTION_JOB_SERVICE_ID) != null) {
+            return;
+        }
+
+        ComponentName serviceComponent = new ComponentName(context, CacheCompactionJobService.class);
+        JobInfo.Builder builder = new JobInfo.Builder(ServiceParams.CACHE_COMPACTION_JOB_SERVICE_ID, serviceComponent);
+        builder.setPeriodic(resolvePeriod());
+        builder.setRequiresBatteryNotLow(true);
+        builder.setPersisted(true);
+
+        jobScheduler.schedule(builder.build());
+
+        Timber.d("Cache compaction job successfully scheduled");
+    }
+
+    /**
+     * Resolves period to be used for scheduled job. Debug builds run much more frequent.
+     *
+     * @return resolved period in milliseconds
+     */
+    private static long resolvePeriod() {
+        return 60 * 1000L * (BuildConfig.DEBUG ? PERIOD_DEBUG : PERIOD_RELEASE);
+    }
+}
@@ -0,0 +1,42 @@
+package ax.stardust.skvirrel.service;
+
+import android.app.job.JobParameters;
+import android.app.job.JobService;
+import android.os.Process;
+
+import ax.stardust.skvirrel.cache.CacheManager;
+import ax.stardust.skvirrel.cache.CacheMetrics;
+import timber.log.Timber;
+
+/**
+ * Job service compacting the caches, in other words deleting cached data that's not needed
+ * anymore. Compaction is done on a background thread of low priority, as job services are
+ * started on the main thread.
+ */
+public class CacheCompactionJobService extends JobService {
+
+    @Override
+    public boolean onStartJob(JobParameters jobParameters) {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            try {
+                new CacheManager(getApplicationContext()).compactCaches();
+                Timber.d("Cache metrics since start:%n%s", CacheMetrics.getInstance().dump());
+            } catch (Exception e) {
+                Timber.e(e, "Something went wrong while compacting caches");
+            } finally {
+                jobFinished(jobParameters, false);
+            }
+        }, CacheCompactionJobService.class.getSimpleName());
+        thread.start();
+
+        return true;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters jobParameters) {
+        // compaction is bounded and is run again with next period, no need to reschedule
+        Timber.d("System decided to stop cache compaction before it finished");
+        return false;
+    }
+}
@@ -7,6 +7,7 @@ public class ServiceParams {
 
     public static final int MONITORING_JOB_SERVICE_ID = 0;
     public static final int STOCK_SERVICE_ID = 1;
+    public static final int CACHE_COMPACTION_JOB_SERVICE_ID = 2;
 
     // Number of days to fetch historical quotes from yahoo finance for the different
     // stock indicators
@@ -58,5 +59,7 @@ public class ServiceParams {
         public static final int SUCCESS = 0;
         public static final int COMMON_ERROR = -1;
         public static final int STOCK_NOT_FOUND_ERROR = -2;
+        // expired indicator values replied could not be refreshed, the reply holds them once more
+        public static final int INDICATORS_NOT_REFRESHED_ERROR = -3;
     }
 }
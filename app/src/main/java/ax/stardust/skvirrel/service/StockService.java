@@ -9,16 +9,20 @@ import androidx.core.app.JobIntentService;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Objects;
 
+import ax.stardust.skvirrel.cache.CacheManager;
+import ax.stardust.skvirrel.cache.CacheMetrics;
+import ax.stardust.skvirrel.cache.CompanyName;
+import ax.stardust.skvirrel.cache.QuoteCache;
 import ax.stardust.skvirrel.exception.StockNotFoundException;
 import ax.stardust.skvirrel.exception.StockServiceException;
 import ax.stardust.skvirrel.stock.parcelable.ParcelableStock;
 import ax.stardust.skvirrel.receiver.MonitoringReceiver;
 import timber.log.Timber;
 import yahoofinance.Stock;
-import yahoofinance.YahooFinance;
 
 import static ax.stardust.skvirrel.service.ServiceParams.Operation.GET_COMPANY_NAME;
 import static ax.stardust.skvirrel.service.ServiceParams.Operation.GET_STOCK_INFO;
@@ -64,24 +68,30 @@ public class StockService extends JobIntentService {
             Stock stock;
             switch (operation) {
                 case GET_COMPANY_NAME:
-                    stock = YahooFinance.get(Objects.requireNonNull(intent.getStringExtra(ServiceParams.RequestExtra.TICKER)));
-                    validateStock(stock);
+                    String companyName = resolveCompanyName(Objects.requireNonNull(intent.getStringExtra(ServiceParams.RequestExtra.TICKER)));
 
-                    result.putExtra(ServiceParams.ResultExtra.COMPANY_NAME, stock.getName());
+                    result.putExtra(ServiceParams.ResultExtra.COMPANY_NAME, companyName);
                     sendReply(reply, ServiceParams.ResultCode.SUCCESS, result);
 
-                    Timber.d("Successfully fetched stock: %s", stock.getName());
+                    Timber.d("Successfully resolved company name: %s", companyName);
 
                     break;
                 case GET_STOCK_INFO:
-                    stock = YahooFinance.get(Objects.requireNonNull(intent.getStringExtra(ServiceParams.RequestExtra.TICKER)));
+                    stock = getQuoteCache().get(Objects.requireNonNull(intent.getStringExtra(ServiceParams.RequestExtra.TICKER)));
                     validateStock(stock);
 
-                    result.putExtra(ServiceParams.ResultExtra.STOCK_INFO, ParcelableStock.from(this, stock));
+                    // reply at once, with expired indicator values if they need to be refreshed
+                    ParcelableStock parcelableStock = ParcelableStock.from(this, stock, true);
+                    result.putExtra(ServiceParams.ResultExtra.STOCK_INFO, parcelableStock);
                     sendReply(reply, ServiceParams.ResultCode.SUCCESS, result);
 
                     Timber.d("Successfully fetched stock: %s", stock.getName());
 
+                    // and reply once more when expired indicator values have been refreshed
+                    if (parcelableStock.isStaleIndicators()) {
+                        refreshIndicators(reply, result, stock);
+                    }
+
                     break;
                 case GET_STOCK_INFOS:
                     ArrayList<String> tickers = intent.getStringArrayListExtra(ServiceParams.RequestExtra.TICKERS);
@@ -90,7 +100,7 @@ public class StockService extends JobIntentService {
                     if (tickers != null) {
                         tickers.forEach(ticker -> {
                             try {
-                                Stock s = YahooFinance.get(Objects.requireNonNull(ticker));
+                                Stock s = getQuoteCache().get(Objects.requireNonNull(ticker));
                                 validateStock(s);
                                 parcelableStocks.add(ParcelableStock.from(this, s));
                             } catch (Exception e) {
@@ -105,6 +115,8 @@ public class StockService extends JobIntentService {
 
                     Timber.d("Successfully fetched stocks: %s", StringUtils.joinWith(", ", tickers));
 
+                    Timber.d("Cache metrics since start:%n%s", CacheMetrics.getInstance().dump());
+
                     break;
                 default:
                     String errorMessage = String.format("Unsupported operation: %s", intent.getStringExtra(ServiceParams.STOCK_SERVICE));
@@ -126,6 +138,44 @@ public class StockService extends JobIntentService {
         }
     }
 
+    private String resolveCompanyName(String ticker) throws IOException, StockNotFoundException {
+        CacheManager cacheManager = new CacheManager(this);
+
+        // known and unknown tickers are resolved from cache, without calling yahoo finance
+        CompanyName companyName = cacheManager.getCompanyName(ticker);
+        if (companyName != null) {
+            if (!companyName.isKnown()) {
+                throw new StockNotFoundException(null);
+            }
+            return companyName.getName();
+        }
+
+        Stock stock = getQuoteCache().get(ticker);
+        try {
+            validateStock(stock);
+        } catch (StockNotFoundException e) {
+            cacheManager.putCompanyName(CompanyName.unknown(ticker));
+            throw e;
+        }
+
+        cacheManager.putCompanyName(CompanyName.known(ticker, stock.getName()));
+        return stock.getName();
+    }
+
+    private void refreshIndicators(PendingIntent reply, Intent result, Stock stock) {
+        try {
+            result.putExtra(ServiceParams.ResultExtra.STOCK_INFO, ParcelableStock.from(this, stock));
+            sendReply(reply, ServiceParams.ResultCode.SUCCESS, result);
+
+            Timber.d("Successfully refreshed indicators of stock: %s", stock.getName());
+        } catch (Exception e) {
+            // result still holds the expired indicator values, replied so caller stops waiting for them
+            sendReply(reply, ServiceParams.ResultCode.INDICATORS_NOT_REFRESHED_ERROR, result);
+
+            Timber.e(e, "Something went wrong while refreshing indicators of stock: %s", stock.getName());
+        }
+    }
+
     private void sendReply(PendingIntent reply, int resultCode, Intent result) {
         // caller of service is responsible for getting a reply or not, pass in a pending intent for
         // reply with the intent if caller is expected to get a result back
@@ -149,6 +199,10 @@ public class StockService extends JobIntentService {
         }
     }
 
+    private QuoteCache getQuoteCache() {
+        return QuoteCache.getInstance();
+    }
+
     private void validateStock(Stock stock) throws StockNotFoundException {
         if (stock == null || StringUtils.isEmpty(stock.getName()) || StringUtils.isNumeric(stock.getName())) {
             throw new StockNotFoundException(stock);
@@ -20,11 +20,12 @@ import java.util.stream.Collectors;
 
 import ax.stardust.skvirrel.cache.CacheManager;
 import ax.stardust.skvirrel.cache.IndicatorCache;
+import ax.stardust.skvirrel.cache.IndicatorState;
+import ax.stardust.skvirrel.cache.MarketSession;
 import ax.stardust.skvirrel.exception.StockServiceException;
-import ax.stardust.skvirrel.service.ServiceParams;
-import ax.stardust.skvirrel.stock.indicator.ExponentialMovingAverage;
-import ax.stardust.skvirrel.stock.indicator.RelativeStrengthIndex;
-import ax.stardust.skvirrel.stock.indicator.SimpleMovingAverage;
+import ax.stardust.skvirrel.stock.QuoteSnapshot;
+import ax.stardust.skvirrel.stock.indicator.IndicatorEvaluator;
+import ax.stardust.skvirrel.stock.indicator.PriceSeries;
 import ax.stardust.skvirrel.util.SkvirrelUtils;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -33,7 +34,6 @@ import lombok.ToString;
 import timber.log.Timber;
 import yahoofinance.Stock;
 import yahoofinance.histquotes.HistoricalQuote;
-import yahoofinance.histquotes.Interval;
 import yahoofinance.quotes.stock.StockDividend;
 import yahoofinance.quotes.stock.StockQuote;
 import yahoofinance.quotes.stock.StockStats;
@@ -45,7 +45,7 @@ import yahoofinance.quotes.stock.StockStats;
 @Setter
 @NoArgsConstructor
 @ToString
-public class ParcelableStock implements Parcelable {
+public class ParcelableStock implements Parcelable, QuoteSnapshot {
 
     /**
      * Enum for describing the change trend.
@@ -116,6 +116,9 @@ public class ParcelableStock implements Parcelable {
     private double ema50Close;
     private double rsi14Close;
 
+    // whether the calculated values are expired ones, shown until they have been refreshed
+    private boolean staleIndicators;
+
     protected ParcelableStock(Parcel in) {
         ticker = in.readString();
         name = in.readString();
@@ -165,6 +168,7 @@ public class ParcelableStock implements Parcelable {
         sma50Close = in.readDouble();
         ema50Close = in.readDouble();
         rsi14Close = in.readDouble();
+        staleIndicators = in.readByte() != 0;
     }
 
     /**
@@ -174,8 +178,23 @@ public class ParcelableStock implements Parcelable {
      * @param stock   yahoo stock from which parcelable stock is created
      * @return parcelable stock
      */
-    @SuppressLint("BinaryOperationInTimber")
     public static ParcelableStock from(Context context, Stock stock) throws IOException {
+        return from(context, stock, false);
+    }
+
+    /**
+     * Creates a parcelable stock from given {@link yahoofinance.Stock}. If stale indicators are
+     * allowed and the indicator cache has expired without any valid indicator state, the expired
+     * indicator values are used as they are instead of fetching history. The parcelable stock is
+     * then marked as having stale indicators, and it's up to the caller to refresh them
+     *
+     * @param context              context for which parcelable stock is created from
+     * @param stock                yahoo stock from which parcelable stock is created
+     * @param allowStaleIndicators true if expired indicator values may be used else false
+     * @return parcelable stock
+     */
+    @SuppressLint("BinaryOperationInTimber")
+    public static ParcelableStock from(Context context, Stock stock, boolean allowStaleIndicators) throws IOException {
         StockQuote quote = stock.getQuote();
         StockStats stats = stock.getStats();
         StockDividend dividend = stock.getDividend();
@@ -227,28 +246,23 @@ public class ParcelableStock implements Parcelable {
 
         CacheManager cacheManager = new CacheManager(context);
         IndicatorCache indicatorCache = cacheManager.getIndicatorCache(ticker);
+        MarketSession marketSession = MarketSession.of(parcelableStock.getTimeZone());
 
-        // fetch further data from yahoo finance if refresh of cache is needed
+        // use expired values if allowed and a refresh would need further data from yahoo finance,
+        // else refresh cache if needed. Only one refresh per ticker is made at a time
         if (indicatorCache.needsRefresh()) {
-            Timber.d("Indicator cache for ticker: %s needs to be refreshed, fetching "
-                    + "fresh data from yahoo finance and make needed calculations", indicatorCache.getTicker());
-
-            Calendar from = Calendar.getInstance();
-            from.add(Calendar.DATE, ServiceParams.DAYS_OF_HISTORY);
+            IndicatorState indicatorState = indicatorCache.getIndicatorState();
 
-            // get history from specific date and filter out any eventual null values
-            List<HistoricalQuote> historicalQuotes = stock.getHistory(from, Interval.DAILY).stream()
-                    .filter(historicalQuote -> historicalQuote.getClose() != null)
-                    .collect(Collectors.toList());
+            if (allowStaleIndicators && !indicatorCache.isMissingData()
+                    && (indicatorState == null || !indicatorState.isValid())) {
+                Timber.d("Indicator cache for ticker: %s needs to be refreshed, using expired "
+                        + "values until refreshed", indicatorCache.getTicker());
 
-            // do some calculation of some indicator data and add them to cache
-            indicatorCache.setSma(calculateSma50Close(historicalQuotes, currentPrice));
-            indicatorCache.setEma(calculateEma50Close(historicalQuotes, currentPrice));
-            indicatorCache.setRsi(calculateRsi14Close(historicalQuotes, currentPrice));
-            indicatorCache.setExpires(Calendar.getInstance().getTime());
-
-            // at last update the cache
-            indicatorCache = cacheManager.updateIndicatorCache(indicatorCache);
+                parcelableStock.setStaleIndicators(true);
+            } else {
+                indicatorCache = cacheManager.refreshIndicatorCache(ticker, expiredIndicatorCache ->
+                        refreshIndicatorCache(cacheManager, expiredIndicatorCache, stock, currentPrice, marketSession));
+            }
         }
 
         // set calculated values from cache
@@ -259,6 +273,47 @@ public class ParcelableStock implements Parcelable {
         return parcelableStock;
     }
 
+    /**
+     * Refreshes given indicator cache, either from the indicator state of the cache or by fetching
+     * further data from yahoo finance if no valid indicator state exists
+     */
+    @SuppressLint("BinaryOperationInTimber")
+    private static IndicatorCache refreshIndicatorCache(CacheManager cacheManager, IndicatorCache indicatorCache,
+                                                        Stock stock, BigDecimal currentPrice,
+                                                        MarketSession marketSession) throws IOException {
+        IndicatorState indicatorState = indicatorCache.getIndicatorState();
+
+        if (indicatorState != null && indicatorState.isValid()) {
+            Timber.d("Indicator cache for ticker: %s needs to be refreshed, recalculating "
+                    + "indicators from indicator state", indicatorCache.getTicker());
+
+            indicatorCache.setSma(indicatorState.getSma(currentPrice));
+            indicatorCache.setEma(indicatorState.getEma(currentPrice));
+            indicatorCache.setRsi(indicatorState.getRsi(currentPrice));
+        } else {
+            Timber.d("Indicator cache for ticker: %s needs to be refreshed, fetching "
+                    + "fresh data from yahoo finance and make needed calculations", indicatorCache.getTicker());
+
+            // get history, only the days missing from the locally stored history are fetched
+            List<HistoricalQuote> historicalQuotes = cacheManager.getPriceHistory(stock);
+
+            // prices of the historical quotes used by the indicators
+            PriceSeries priceSeries = PriceSeries.from(historicalQuotes);
+
+            // build up indicator state from the prices
+            indicatorCache.setIndicatorState(IndicatorState.from(priceSeries, marketSession));
+
+            // do some calculation of some indicator data in one go and add them to cache
+            IndicatorEvaluator indicatorEvaluator = IndicatorEvaluator.create(priceSeries,
+                    currentPrice, IndicatorCache.INDICATOR_SPECS);
+            IndicatorCache.INDICATOR_SPECS.forEach(indicatorSpec ->
+                    indicatorCache.setValue(indicatorSpec, indicatorEvaluator.getResult(indicatorSpec)));
+        }
+
+        indicatorCache.setExpires(Calendar.getInstance().getTime(), marketSession);
+        return indicatorCache;
+    }
+
     public static final Creator<ParcelableStock> CREATOR = new Creator<ParcelableStock>() {
         @Override
         public ParcelableStock createFromParcel(Parcel in) {
@@ -303,6 +358,7 @@ public class ParcelableStock implements Parcelable {
         parcel.writeDouble(sma50Close);
         parcel.writeDouble(ema50Close);
         parcel.writeDouble(rsi14Close);
+        parcel.writeByte((byte) (staleIndicators ? 1 : 0));
     }
 
     @Override
@@ -331,18 +387,6 @@ public class ParcelableStock implements Parcelable {
         return l;
     }
 
-    private static double calculateSma50Close(List<HistoricalQuote> historicalQuotes, BigDecimal currentPrice) {
-        return SimpleMovingAverage.create(historicalQuotes, currentPrice, SimpleMovingAverage.DEFAULT_PERIOD).getLastResult();
-    }
-
-    private static double calculateEma50Close(List<HistoricalQuote> historicalQuotes, BigDecimal currentPrice) {
-        return ExponentialMovingAverage.create(historicalQuotes, currentPrice, ExponentialMovingAverage.DEFAULT_PERIOD).getLastResult();
-    }
-
-    private static double calculateRsi14Close(List<HistoricalQuote> historicalQuotes, BigDecimal currentPrice) {
-        return RelativeStrengthIndex.create(historicalQuotes, currentPrice, RelativeStrengthIndex.DEFAULT_PERIOD).getLastResult();
-    }
-
     /**
      * Convenience method to transform given double value to a string.
      * If given double is {@link SkvirrelUtils#UNSET} then a default string of N/A is returned.
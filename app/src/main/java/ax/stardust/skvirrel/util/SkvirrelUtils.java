@@ -6,6 +6,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import ax.stardust.skvirrel.R;
+import ax.stardust.skvirrel.stock.QuoteSnapshot;
 
 /**
  * Class containing static utility methods.
@@ -13,10 +14,7 @@ import ax.stardust.skvirrel.R;
 public class SkvirrelUtils {
 
     /** A value indicating that a double is unset within this application */
-    public static final double UNSET = -1.1;
-
-    private static final int TWO_DECIMALS = 2;
-    private static final int THREE_DECIMALS = 3;
+    public static final double UNSET = QuoteSnapshot.UNSET;
 
     /**
      * Joins given list of strings into a list of format: one, two and three
@@ -42,28 +40,14 @@ public class SkvirrelUtils {
     }
 
     /**
-     * Rounds given double value to a double with two decimals. Rounding is done using
-     * {@link BigDecimal#ROUND_HALF_UP}
+     * Rounds given double value to a double with two decimals. Rounding is done in the same way
+     * as {@link BigDecimal#ROUND_HALF_UP}, see {@link SkvirrelMath#round(double)}
      *
      * @param value value to round
      * @return rounded double
      */
     public static double round(double value) {
-        return round(value, TWO_DECIMALS);
-    }
-
-    /**
-     * Rounds given double value to a double with given number of decimals. Rounding is done using
-     * {@link BigDecimal#ROUND_HALF_UP}
-     *
-     * @param value            value to round
-     * @param numberOfDecimals number of decimals for round
-     * @return rounded double
-     */
-    private static double round(double value, int numberOfDecimals) {
-        BigDecimal bigDecimal = new BigDecimal(value);
-        bigDecimal = bigDecimal.setScale(numberOfDecimals, BigDecimal.ROUND_HALF_UP);
-        return bigDecimal.doubleValue();
+        return SkvirrelMath.round(value);
     }
 
     /**
@@ -74,7 +58,6 @@ public class SkvirrelUtils {
      * @return true if given values are numerically equal to each other, else false
      */
     public static boolean equals(BigDecimal value1, BigDecimal value2) {
-        return round(value1.doubleValue(), THREE_DECIMALS)
-                == round(value2.doubleValue(), THREE_DECIMALS);
+        return SkvirrelMath.equals(value1.doubleValue(), value2.doubleValue());
     }
 }
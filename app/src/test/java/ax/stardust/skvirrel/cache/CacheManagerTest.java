@@ -0,0 +1,143 @@
+package ax.stardust.skvirrel.cache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import ax.stardust.skvirrel.persistence.DatabaseHelper;
+import ax.stardust.skvirrel.persistence.DatabaseManager;
+import ax.stardust.skvirrel.service.ServiceParams;
+import yahoofinance.Stock;
+import yahoofinance.histquotes.HistoricalQuote;
+import yahoofinance.histquotes.Interval;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class CacheManagerTest {
+
+    private static final String TICKER = "T0";
+
+    private CacheManager cacheManager;
+    private DatabaseManager databaseManager;
+    private long today;
+
+    @Before
+    public void setUp() {
+        cacheManager = new CacheManager(RuntimeEnvironment.getApplication());
+        databaseManager = new DatabaseManager(RuntimeEnvironment.getApplication());
+        today = PriceHistory.toEpochDay(Calendar.getInstance());
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.closeInstance();
+    }
+
+    @Test
+    public void testGetPriceHistory() throws Exception {
+        long from = today + ServiceParams.DAYS_OF_HISTORY;
+        FakeStock stock = new FakeStock(from - 50, today - 3);
+
+        // nothing stored, all history is fetched
+        assertQuotes(from, today - 3, stock, cacheManager.getPriceHistory(stock));
+        assertEquals(from, stock.fetchedFrom);
+        assertQuotes(from, today - 3, stock, databaseManager.fetchPriceHistoryForTicker(TICKER).getHistoricalQuotes());
+
+        // only the days from the last stored day are fetched, the last stored day is replaced
+        stock.addQuotes(today - 3, today);
+        assertQuotes(from, today, stock, cacheManager.getPriceHistory(stock));
+        assertEquals(today - 3, stock.fetchedFrom);
+        assertQuotes(from, today, stock, databaseManager.fetchPriceHistoryForTicker(TICKER).getHistoricalQuotes());
+
+        // nothing new to fetch
+        assertQuotes(from, today, stock, cacheManager.getPriceHistory(stock));
+        assertEquals(today, stock.fetchedFrom);
+    }
+
+    @Test
+    public void testGetPriceHistoryWithOutdatedHistory() throws Exception {
+        long from = today + ServiceParams.DAYS_OF_HISTORY;
+
+        // last stored day is before history is needed, stored days are replaced by all history
+        FakeStock outdated = new FakeStock(from - 100, from - 1);
+        databaseManager.update(new PriceHistory(TICKER, outdated.quotes), PriceHistory.toCalendar(from - 100));
+
+        FakeStock stock = new FakeStock(from - 50, today);
+        assertQuotes(from, today, stock, cacheManager.getPriceHistory(stock));
+        assertEquals(from, stock.fetchedFrom);
+        assertQuotes(from, today, stock, databaseManager.fetchPriceHistoryForTicker(TICKER).getHistoricalQuotes());
+    }
+
+    private static void assertQuotes(long fromEpochDay, long toEpochDay, FakeStock stock,
+                                     List<HistoricalQuote> historicalQuotes) {
+        List<HistoricalQuote> expected = stock.quotes.stream()
+                .filter(historicalQuote -> PriceHistory.toEpochDay(historicalQuote.getDate()) >= fromEpochDay)
+                .filter(historicalQuote -> PriceHistory.toEpochDay(historicalQuote.getDate()) <= toEpochDay)
+                .collect(Collectors.toList());
+
+        assertEquals(toEpochDay - fromEpochDay + 1, historicalQuotes.size());
+        assertEquals(expected.stream()
+                        .map(historicalQuote -> PriceHistory.toEpochDay(historicalQuote.getDate()))
+                        .collect(Collectors.toList()),
+                historicalQuotes.stream()
+                        .map(historicalQuote -> PriceHistory.toEpochDay(historicalQuote.getDate()))
+                        .collect(Collectors.toList()));
+        assertEquals(expected.stream()
+                        .map(historicalQuote -> historicalQuote.getClose().doubleValue())
+                        .collect(Collectors.toList()),
+                historicalQuotes.stream()
+                        .map(historicalQuote -> historicalQuote.getClose().doubleValue())
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Stock with a quote per day, whose history is served from memory and records the date
+     * history is fetched from
+     */
+    private static class FakeStock extends Stock {
+
+        // quotes of the market, oldest first
+        private final List<HistoricalQuote> quotes = new ArrayList<>();
+
+        // epoch day history was last fetched from
+        private long fetchedFrom;
+
+        private FakeStock(long fromEpochDay, long toEpochDay) {
+            super(TICKER);
+            addQuotes(fromEpochDay, toEpochDay);
+        }
+
+        /**
+         * Adds quotes of given days, replacing quotes of the same days, as if they've been traded
+         * since last fetch
+         */
+        private void addQuotes(long fromEpochDay, long toEpochDay) {
+            quotes.removeIf(historicalQuote -> PriceHistory.toEpochDay(historicalQuote.getDate()) >= fromEpochDay);
+            for (long epochDay = fromEpochDay; epochDay <= toEpochDay; epochDay++) {
+                HistoricalQuote historicalQuote = new HistoricalQuote();
+                historicalQuote.setSymbol(TICKER);
+                historicalQuote.setDate(PriceHistory.toCalendar(epochDay));
+                historicalQuote.setClose(BigDecimal.valueOf(epochDay % 100 + quotes.size() / 1000.0));
+                quotes.add(historicalQuote);
+            }
+        }
+
+        @Override
+        public List<HistoricalQuote> getHistory(Calendar from, Interval interval) {
+            fetchedFrom = PriceHistory.toEpochDay(from);
+            return quotes.stream()
+                    .filter(historicalQuote -> PriceHistory.toEpochDay(historicalQuote.getDate()) >= fetchedFrom)
+                    .collect(Collectors.toList());
+        }
+    }
+}
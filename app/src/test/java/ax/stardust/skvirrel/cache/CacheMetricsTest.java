@@ -0,0 +1,66 @@
+package ax.stardust.skvirrel.cache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class CacheMetricsTest {
+
+    @Test
+    public void testLookups() {
+        CacheMetrics cacheMetrics = new CacheMetrics();
+        cacheMetrics.recordIndicatorHit();
+        cacheMetrics.recordIndicatorHit();
+        cacheMetrics.recordIndicatorExpiredHit();
+        cacheMetrics.recordIndicatorMiss();
+
+        assertEquals(2, cacheMetrics.getIndicatorHits());
+        assertEquals(1, cacheMetrics.getIndicatorExpiredHits());
+        assertEquals(1, cacheMetrics.getIndicatorMisses());
+    }
+
+    @Test
+    public void testRefreshes() {
+        CacheMetrics cacheMetrics = new CacheMetrics();
+        cacheMetrics.recordRefresh(0);
+        cacheMetrics.recordRefresh(50);
+        cacheMetrics.recordRefresh(51);
+        cacheMetrics.recordRefresh(10000);
+        cacheMetrics.recordRefresh(10001);
+
+        assertEquals(5, cacheMetrics.getRefreshes());
+        assertArrayEquals(new long[]{2, 1, 0, 0, 0, 0, 0, 1, 1}, cacheMetrics.getRefreshDurations());
+
+        // histogram is a copy
+        cacheMetrics.getRefreshDurations()[0] = 100;
+        assertEquals(2, cacheMetrics.getRefreshDurations()[0]);
+    }
+
+    @Test
+    public void testDownloads() {
+        CacheMetrics cacheMetrics = new CacheMetrics();
+        cacheMetrics.recordDownload(250);
+        cacheMetrics.recordDownload(1);
+
+        assertEquals(2, cacheMetrics.getDownloads());
+        assertEquals(251, cacheMetrics.getDownloadedQuotes());
+    }
+
+    @Test
+    public void testDump() {
+        CacheMetrics cacheMetrics = new CacheMetrics();
+        cacheMetrics.recordIndicatorHit();
+        cacheMetrics.recordRefresh(100);
+        cacheMetrics.recordRefresh(300);
+
+        String dump = cacheMetrics.dump();
+        assertTrue(dump.contains("Indicator cache: 1 hits, 0 expired hits, 0 misses"));
+        assertTrue(dump.contains("Refreshes: 2, average 200 ms"));
+        assertTrue(dump.contains("> 10000 ms: 0"));
+    }
+}
@@ -0,0 +1,50 @@
+package ax.stardust.skvirrel.cache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class CompanyNameTest {
+
+    private static final String TICKER = "Test";
+    private static final String NAME = "Test company Inc.";
+
+    @Test
+    public void testKnown() {
+        long now = System.currentTimeMillis();
+        CompanyName companyName = CompanyName.known(TICKER, NAME);
+
+        assertEquals(TICKER, companyName.getTicker());
+        assertEquals(NAME, companyName.getName());
+        assertTrue(companyName.isKnown());
+        assertFalse(companyName.hasExpired());
+        assertTrue(companyName.getExpires() >= now + CompanyName.TIME_TO_LIVE_KNOWN);
+    }
+
+    @Test
+    public void testUnknown() {
+        long now = System.currentTimeMillis();
+        CompanyName companyName = CompanyName.unknown(TICKER);
+
+        assertEquals(TICKER, companyName.getTicker());
+        assertNull(companyName.getName());
+        assertFalse(companyName.isKnown());
+        assertFalse(companyName.hasExpired());
+
+        // unknown tickers are cached for a shorter time
+        assertTrue(companyName.getExpires() >= now + CompanyName.TIME_TO_LIVE_UNKNOWN);
+        assertTrue(companyName.getExpires() < now + CompanyName.TIME_TO_LIVE_KNOWN);
+    }
+
+    @Test
+    public void testHasExpired() {
+        assertTrue(new CompanyName(TICKER, NAME, System.currentTimeMillis() - 1).hasExpired());
+        assertFalse(new CompanyName(TICKER, NAME, System.currentTimeMillis() + 1000).hasExpired());
+    }
+}
@@ -6,6 +6,9 @@ import org.junit.runners.JUnit4;
 
 import java.util.Calendar;
 
+import ax.stardust.skvirrel.stock.indicator.IndicatorSpec;
+import ax.stardust.skvirrel.util.SkvirrelUtils;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -72,6 +75,26 @@ public class IndicatorCacheTest {
         assertFalse(indicatorCache.hasExpired());
     }
 
+    @Test
+    public void testValues() {
+        IndicatorCache indicatorCache = new IndicatorCache(ID, TICKER);
+        IndicatorSpec sma20 = IndicatorSpec.sma(20);
+        assertEquals(SkvirrelUtils.UNSET, indicatorCache.getValue(sma20), 0);
+
+        // any indicator can be cached, the default ones are reached by their own accessors too
+        indicatorCache.setValue(sma20, 2.5);
+        indicatorCache.setValue(IndicatorCache.SMA_50_CLOSE, 1.1);
+        assertEquals(2.5, indicatorCache.getValue(sma20), 0);
+        assertEquals(1.1, indicatorCache.getSma(), 0);
+        assertEquals(2, indicatorCache.getValues().size());
+
+        // copies don't share values
+        IndicatorCache copy = new IndicatorCache(indicatorCache);
+        copy.setValue(sma20, 3.5);
+        assertEquals(2.5, indicatorCache.getValue(sma20), 0);
+        assertEquals(1.1, copy.getSma(), 0);
+    }
+
     @Test
     public void testIsMissingData() {
         IndicatorCache indicatorCache = new IndicatorCache(ID, TICKER);
@@ -0,0 +1,111 @@
+package ax.stardust.skvirrel.cache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+@RunWith(JUnit4.class)
+public class IndicatorMemoryCacheTest {
+
+    private static final String TICKER = "Test";
+    private static final long ID = 1;
+
+    @Test
+    public void testGetAndPut() {
+        IndicatorMemoryCache memoryCache = new IndicatorMemoryCache(IndicatorMemoryCache.MAX_ENTRIES);
+        assertNull(memoryCache.get(TICKER));
+
+        IndicatorCache indicatorCache = createIndicatorCache(TICKER, 1);
+        memoryCache.put(indicatorCache);
+
+        IndicatorCache cachedIndicatorCache = memoryCache.get(TICKER);
+        assertNotNull(cachedIndicatorCache);
+        assertNotSame(indicatorCache, cachedIndicatorCache);
+        assertEquals(ID, cachedIndicatorCache.getId());
+        assertEquals(1.1, cachedIndicatorCache.getSma(), 0);
+        assertEquals(3.4, cachedIndicatorCache.getEma(), 0);
+        assertEquals(5.2, cachedIndicatorCache.getRsi(), 0);
+        assertEquals(indicatorCache.getExpires(), cachedIndicatorCache.getExpires());
+
+        // changes are not seen until written through
+        cachedIndicatorCache.setSma(2.2);
+        assertEquals(1.1, memoryCache.get(TICKER).getSma(), 0);
+        memoryCache.put(cachedIndicatorCache);
+        assertEquals(2.2, memoryCache.get(TICKER).getSma(), 0);
+
+        memoryCache.remove(TICKER);
+        assertNull(memoryCache.get(TICKER));
+        assertEquals(0, memoryCache.getEvictions());
+    }
+
+    @Test
+    public void testExpired() {
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        IndicatorMemoryCache memoryCache = new IndicatorMemoryCache(IndicatorMemoryCache.MAX_ENTRIES, now::get);
+
+        // expired indicator caches are never put into memory
+        memoryCache.put(new IndicatorCache(ID, TICKER));
+        assertEquals(0, memoryCache.size());
+
+        IndicatorCache indicatorCache = createIndicatorCache(TICKER, 1);
+        memoryCache.put(indicatorCache);
+        assertEquals(1, memoryCache.size());
+
+        // putting an expired indicator cache removes the existing one
+        indicatorCache.setExpires(Integer.MIN_VALUE);
+        memoryCache.put(indicatorCache);
+        assertEquals(0, memoryCache.size());
+
+        // indicator cache that expires while in memory is evicted
+        indicatorCache.setExpires(now.get() + 100);
+        memoryCache.put(indicatorCache);
+        assertNotNull(memoryCache.get(TICKER));
+
+        now.addAndGet(100);
+        assertNotNull(memoryCache.get(TICKER));
+
+        now.incrementAndGet();
+        assertNull(memoryCache.get(TICKER));
+        assertEquals(0, memoryCache.size());
+        assertEquals(1, memoryCache.getEvictions());
+    }
+
+    @Test
+    public void testEviction() {
+        IndicatorMemoryCache memoryCache = new IndicatorMemoryCache(2);
+
+        memoryCache.put(createIndicatorCache("A", 1));
+        memoryCache.put(createIndicatorCache("B", 1));
+
+        // A is used most recently, B is the one to evict
+        assertNotNull(memoryCache.get("A"));
+        memoryCache.put(createIndicatorCache("C", 1));
+
+        assertEquals(2, memoryCache.size());
+        assertEquals(1, memoryCache.getEvictions());
+        assertNotNull(memoryCache.get("A"));
+        assertNull(memoryCache.get("B"));
+        assertNotNull(memoryCache.get("C"));
+    }
+
+    private static IndicatorCache createIndicatorCache(String ticker, int expiresInHours) {
+        IndicatorCache indicatorCache = new IndicatorCache(ID, ticker);
+        indicatorCache.setSma(1.1);
+        indicatorCache.setEma(3.4);
+        indicatorCache.setRsi(5.2);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.HOUR, expiresInHours);
+        indicatorCache.setExpires(calendar.getTimeInMillis());
+
+        return indicatorCache;
+    }
+}
@@ -0,0 +1,125 @@
+package ax.stardust.skvirrel.cache;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ax.stardust.skvirrel.stock.indicator.IndicatorEvaluator;
+import ax.stardust.skvirrel.stock.indicator.PriceSeries;
+import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
+import yahoofinance.histquotes.HistoricalQuote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class IndicatorStateTest {
+
+    private static final MarketSession MARKET_SESSION = new MarketSession(TimeZone.getTimeZone("UTC"), 0, 24 * 60);
+    private static final String NEW_YORK = "America/New_York";
+
+    @Test
+    public void testValuesWithCurrentPrice() {
+        PriceSeries priceSeries = createPriceSeries(120);
+        assertIndicatorValues(priceSeries, BigDecimal.valueOf(31.17));
+    }
+
+    @Test
+    public void testValuesWithCurrentPriceAsLastClose() {
+        PriceSeries priceSeries = createPriceSeries(120);
+        assertIndicatorValues(priceSeries, BigDecimal.valueOf(priceSeries.getClose(priceSeries.size() - 1)));
+    }
+
+    @Test
+    public void testValuesWithoutCurrentPrice() {
+        assertIndicatorValues(createPriceSeries(120), null);
+    }
+
+    @Test
+    public void testValuesWithShortestPriceSeries() {
+        // EMA and RSI needs one quote more than their period, and so does the state
+        PriceSeries priceSeries = createPriceSeries(51);
+        assertIndicatorValues(priceSeries, BigDecimal.valueOf(31.17));
+        assertIndicatorValues(priceSeries, BigDecimal.valueOf(priceSeries.getClose(priceSeries.size() - 1)));
+
+        assertFalse(IndicatorState.from(createPriceSeries(50), MARKET_SESSION).isValid());
+    }
+
+    @Test
+    public void testValidUntilNextClose() {
+        MarketSession marketSession = MarketSession.of(TimeZone.getTimeZone(NEW_YORK));
+        AtomicLong now = new AtomicLong();
+
+        // built during session of friday 2021-03-12, valid until its close
+        now.set(toMillis(2021, 3, 12, 12, 0));
+        IndicatorState duringSession = IndicatorState.from(createPriceSeries(120), marketSession, now::get);
+        assertEquals(toMillis(2021, 3, 12, 16, 0), duringSession.getExpires());
+        assertTrue(duringSession.isValid());
+        now.set(toMillis(2021, 3, 12, 15, 59));
+        assertTrue(duringSession.isValid());
+        now.set(toMillis(2021, 3, 12, 16, 0));
+        assertFalse(duringSession.isValid());
+
+        // built after close, valid over the weekend until close of next trading day
+        IndicatorState afterClose = IndicatorState.from(createPriceSeries(120), marketSession, now::get);
+        assertEquals(toMillis(2021, 3, 15, 16, 0), afterClose.getExpires());
+        now.set(toMillis(2021, 3, 15, 15, 59));
+        assertTrue(afterClose.isValid());
+        now.set(toMillis(2021, 3, 15, 16, 0));
+        assertFalse(afterClose.isValid());
+    }
+
+    @Test
+    public void testValidAfterJsonRoundTrip() {
+        // clock isn't stored, state read back is checked against current time
+        Gson gson = new Gson();
+        IndicatorState current = gson.fromJson(gson.toJson(IndicatorState.from(createPriceSeries(120), MARKET_SESSION)),
+                IndicatorState.class);
+        assertTrue(current.isValid());
+
+        IndicatorState outdated = gson.fromJson(gson.toJson(IndicatorState.from(createPriceSeries(120),
+                MARKET_SESSION, () -> toMillis(2021, 3, 12, 12, 0))), IndicatorState.class);
+        assertFalse(outdated.isValid());
+    }
+
+    private static long toMillis(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(ZoneId.of(NEW_YORK)).toInstant().toEpochMilli();
+    }
+
+    private static void assertIndicatorValues(PriceSeries priceSeries, BigDecimal currentPrice) {
+        IndicatorState indicatorState = IndicatorState.from(priceSeries, MARKET_SESSION);
+        assertTrue(indicatorState.isValid());
+
+        IndicatorEvaluator indicatorEvaluator = IndicatorEvaluator.create(priceSeries, currentPrice,
+                IndicatorCache.INDICATOR_SPECS);
+        assertEquals(indicatorEvaluator.getResult(IndicatorCache.SMA_50_CLOSE),
+                indicatorState.getSma(currentPrice), SkvirrelTestUtils.DELTA);
+        assertEquals(indicatorEvaluator.getResult(IndicatorCache.EMA_50_CLOSE),
+                indicatorState.getEma(currentPrice), SkvirrelTestUtils.DELTA);
+        assertEquals(indicatorEvaluator.getResult(IndicatorCache.RSI_14_CLOSE),
+                indicatorState.getRsi(currentPrice), SkvirrelTestUtils.DELTA);
+    }
+
+    private static PriceSeries createPriceSeries(int size) {
+        // a trend with some swings, so both gains and losses exist
+        List<HistoricalQuote> historicalQuotes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            HistoricalQuote historicalQuote = new HistoricalQuote();
+            historicalQuote.setClose(BigDecimal.valueOf(30 + i * 0.05 + Math.sin(i * 0.7) * 2)
+                    .setScale(2, BigDecimal.ROUND_HALF_UP));
+            historicalQuotes.add(historicalQuote);
+        }
+        return PriceSeries.from(historicalQuotes);
+    }
+}
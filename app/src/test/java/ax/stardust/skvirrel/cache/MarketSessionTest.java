@@ -0,0 +1,117 @@
+package ax.stardust.skvirrel.cache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class MarketSessionTest {
+
+    private static final String NEW_YORK = "America/New_York";
+    private static final long TIME_TO_LIVE = 60 * 60 * 1000;
+
+    @Test
+    public void testIsOpen() {
+        MarketSession marketSession = MarketSession.of(TimeZone.getTimeZone(NEW_YORK));
+
+        // friday 2021-03-12
+        assertFalse(marketSession.isOpen(toMillis(NEW_YORK, 2021, 3, 12, 9, 29)));
+        assertTrue(marketSession.isOpen(toMillis(NEW_YORK, 2021, 3, 12, 9, 30)));
+        assertTrue(marketSession.isOpen(toMillis(NEW_YORK, 2021, 3, 12, 15, 59)));
+        assertFalse(marketSession.isOpen(toMillis(NEW_YORK, 2021, 3, 12, 16, 0)));
+
+        // saturday
+        assertFalse(marketSession.isOpen(toMillis(NEW_YORK, 2021, 3, 13, 12, 0)));
+
+        // session is in time zone of exchange, 15:00 in helsinki is 09:00 in new york
+        assertFalse(marketSession.isOpen(toMillis("Europe/Helsinki", 2021, 3, 12, 15, 0)));
+    }
+
+    @Test
+    public void testNextOpenAndClose() {
+        MarketSession marketSession = MarketSession.of(TimeZone.getTimeZone(NEW_YORK));
+
+        // during session
+        long friday = toMillis(NEW_YORK, 2021, 3, 12, 12, 0);
+        assertEquals(toMillis(NEW_YORK, 2021, 3, 12, 16, 0), marketSession.getNextClose(friday));
+        assertEquals(toMillis(NEW_YORK, 2021, 3, 15, 9, 30), marketSession.getNextOpen(friday));
+
+        // weekend is skipped
+        long saturday = toMillis(NEW_YORK, 2021, 3, 13, 12, 0);
+        assertEquals(toMillis(NEW_YORK, 2021, 3, 15, 16, 0), marketSession.getNextClose(saturday));
+        assertEquals(toMillis(NEW_YORK, 2021, 3, 15, 9, 30), marketSession.getNextOpen(saturday));
+
+        // before session
+        long monday = toMillis(NEW_YORK, 2021, 3, 15, 8, 0);
+        assertEquals(toMillis(NEW_YORK, 2021, 3, 15, 16, 0), marketSession.getNextClose(monday));
+        assertEquals(toMillis(NEW_YORK, 2021, 3, 15, 9, 30), marketSession.getNextOpen(monday));
+    }
+
+    @Test
+    public void testResolveExpires() {
+        MarketSession marketSession = MarketSession.of(TimeZone.getTimeZone(NEW_YORK));
+
+        // time to live during session
+        long open = toMillis(NEW_YORK, 2021, 3, 12, 12, 0);
+        assertEquals(open + TIME_TO_LIVE, marketSession.resolveExpires(open, TIME_TO_LIVE));
+
+        // never past session close
+        long closing = toMillis(NEW_YORK, 2021, 3, 12, 15, 30);
+        assertEquals(toMillis(NEW_YORK, 2021, 3, 12, 16, 0), marketSession.resolveExpires(closing, TIME_TO_LIVE));
+
+        // until next open when closed
+        long closed = toMillis(NEW_YORK, 2021, 3, 12, 16, 5);
+        assertEquals(toMillis(NEW_YORK, 2021, 3, 15, 9, 30), marketSession.resolveExpires(closed, TIME_TO_LIVE));
+    }
+
+    @Test
+    public void testUnknownTradingHours() {
+        String timeZone = "Asia/Tokyo";
+        MarketSession marketSession = MarketSession.of(TimeZone.getTimeZone(timeZone));
+
+        // whole weekday is considered as session
+        long friday = toMillis(timeZone, 2021, 3, 12, 0, 0);
+        assertTrue(marketSession.isOpen(friday));
+        assertEquals(toMillis(timeZone, 2021, 3, 13, 0, 0), marketSession.getNextClose(friday));
+        assertEquals(toMillis(timeZone, 2021, 3, 15, 0, 0), marketSession.getNextOpen(friday));
+
+        long sunday = toMillis(timeZone, 2021, 3, 14, 23, 59);
+        assertFalse(marketSession.isOpen(sunday));
+        assertEquals(toMillis(timeZone, 2021, 3, 16, 0, 0), marketSession.getNextClose(sunday));
+    }
+
+    @Test
+    public void testInvalidSession() {
+        TimeZone timeZone = TimeZone.getTimeZone(NEW_YORK);
+
+        try {
+            new MarketSession(timeZone, 16 * 60, 9 * 60);
+            fail("Exception should have been thrown");
+        } catch (IllegalArgumentException ignore) {
+            // exception is expected
+        }
+
+        try {
+            new MarketSession(timeZone, 0, 24 * 60 + 1);
+            fail("Exception should have been thrown");
+        } catch (IllegalArgumentException ignore) {
+            // exception is expected
+        }
+    }
+
+    private static long toMillis(String timeZone, int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute)
+                .atZone(ZoneId.of(timeZone))
+                .toInstant()
+                .toEpochMilli();
+    }
+}
@@ -0,0 +1,147 @@
+package ax.stardust.skvirrel.cache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import yahoofinance.histquotes.HistoricalQuote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(JUnit4.class)
+public class PriceHistoryTest {
+
+    private static final String TICKER = "Test";
+
+    @Test
+    public void testPriceHistory() {
+        HistoricalQuote missingClose = createHistoricalQuote(2021, Calendar.MARCH, 10, 34.00);
+        missingClose.setClose(null);
+
+        PriceHistory priceHistory = new PriceHistory(TICKER, Arrays.asList(
+                createHistoricalQuote(2021, Calendar.MARCH, 12, 35.02),
+                missingClose,
+                createHistoricalQuote(2021, Calendar.MARCH, 11, 34.82)));
+
+        // sorted and without quotes missing closing price
+        List<HistoricalQuote> historicalQuotes = priceHistory.getHistoricalQuotes();
+        assertEquals(2, historicalQuotes.size());
+        assertEquals(BigDecimal.valueOf(34.82), historicalQuotes.get(0).getClose());
+        assertEquals(BigDecimal.valueOf(35.02), historicalQuotes.get(1).getClose());
+    }
+
+    @Test
+    public void testResolveFetchFrom() {
+        Calendar from = new GregorianCalendar(2021, Calendar.MARCH, 1);
+
+        // nothing stored, everything is fetched
+        PriceHistory priceHistory = new PriceHistory(TICKER, Collections.emptyList());
+        assertSame(from, priceHistory.resolveFetchFrom(from));
+
+        // stored history reaches from, fetch from last stored day
+        priceHistory = new PriceHistory(TICKER, Arrays.asList(
+                createHistoricalQuote(2021, Calendar.FEBRUARY, 26, 34.51),
+                createHistoricalQuote(2021, Calendar.MARCH, 11, 34.82),
+                createHistoricalQuote(2021, Calendar.MARCH, 12, 35.02)));
+        assertEquals(LocalDate.of(2021, 3, 12).toEpochDay(),
+                PriceHistory.toEpochDay(priceHistory.resolveFetchFrom(from)));
+
+        // stored history is too old, everything is fetched
+        from = new GregorianCalendar(2021, Calendar.MARCH, 13);
+        assertSame(from, priceHistory.resolveFetchFrom(from));
+    }
+
+    @Test
+    public void testAppend() {
+        PriceHistory priceHistory = new PriceHistory(TICKER, Arrays.asList(
+                createHistoricalQuote(2021, Calendar.FEBRUARY, 26, 34.51),
+                createHistoricalQuote(2021, Calendar.MARCH, 11, 34.82),
+                createHistoricalQuote(2021, Calendar.MARCH, 12, 34.90)));
+
+        // last stored day is replaced, new day appended and days before from left out
+        PriceHistory appended = priceHistory.append(Arrays.asList(
+                createHistoricalQuote(2021, Calendar.MARCH, 12, 35.02),
+                createHistoricalQuote(2021, Calendar.MARCH, 15, 35.43)),
+                new GregorianCalendar(2021, Calendar.MARCH, 1));
+
+        List<HistoricalQuote> historicalQuotes = appended.getHistoricalQuotes();
+        assertEquals(TICKER, appended.getTicker());
+        assertEquals(3, historicalQuotes.size());
+        assertEquals(BigDecimal.valueOf(34.82), historicalQuotes.get(0).getClose());
+        assertEquals(BigDecimal.valueOf(35.02), historicalQuotes.get(1).getClose());
+        assertEquals(BigDecimal.valueOf(35.43), historicalQuotes.get(2).getClose());
+
+        // nothing fetched, stored history is kept
+        appended = priceHistory.append(Collections.emptyList(), new GregorianCalendar(2021, Calendar.MARCH, 1));
+        assertEquals(2, appended.getHistoricalQuotes().size());
+
+        // original price history is left untouched
+        assertEquals(3, priceHistory.getHistoricalQuotes().size());
+        assertEquals(BigDecimal.valueOf(34.90), priceHistory.getHistoricalQuotes().get(2).getClose());
+    }
+
+    @Test
+    public void testFetchAndAppendDayByDay() {
+        // trading days of march and april, weekends left out
+        List<HistoricalQuote> market = new ArrayList<>();
+        for (LocalDate date = LocalDate.of(2021, 3, 1); date.getMonthValue() <= 4; date = date.plusDays(1)) {
+            if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                market.add(createHistoricalQuote(date.getYear(), date.getMonthValue() - 1,
+                        date.getDayOfMonth(), 30 + date.getDayOfMonth()));
+            }
+        }
+
+        // history is needed from a month back, fetched and appended day by day as the days go
+        PriceHistory priceHistory = new PriceHistory(TICKER, Collections.emptyList());
+        for (LocalDate today = LocalDate.of(2021, 4, 1); today.getMonthValue() <= 4; today = today.plusDays(1)) {
+            long todayEpochDay = today.toEpochDay();
+            Calendar from = PriceHistory.toCalendar(today.minusMonths(1).toEpochDay());
+            long fetchFromEpochDay = PriceHistory.toEpochDay(priceHistory.resolveFetchFrom(from));
+
+            List<HistoricalQuote> fetched = market.stream()
+                    .filter(hq -> PriceHistory.toEpochDay(hq.getDate()) >= fetchFromEpochDay)
+                    .filter(hq -> PriceHistory.toEpochDay(hq.getDate()) <= todayEpochDay)
+                    .collect(Collectors.toList());
+            priceHistory = priceHistory.append(fetched, from);
+
+            // stays contiguous, every trading day from given date up to today is held
+            List<HistoricalQuote> expected = market.stream()
+                    .filter(hq -> PriceHistory.toEpochDay(hq.getDate()) >= PriceHistory.toEpochDay(from))
+                    .filter(hq -> PriceHistory.toEpochDay(hq.getDate()) <= todayEpochDay)
+                    .collect(Collectors.toList());
+            assertEquals(expected, priceHistory.getHistoricalQuotes());
+        }
+    }
+
+    @Test
+    public void testEpochDay() {
+        Calendar calendar = new GregorianCalendar(2021, Calendar.MARCH, 12, 15, 30);
+        long epochDay = PriceHistory.toEpochDay(calendar);
+        assertEquals(LocalDate.of(2021, 3, 12).toEpochDay(), epochDay);
+
+        Calendar converted = PriceHistory.toCalendar(epochDay);
+        assertEquals(2021, converted.get(Calendar.YEAR));
+        assertEquals(Calendar.MARCH, converted.get(Calendar.MONTH));
+        assertEquals(12, converted.get(Calendar.DAY_OF_MONTH));
+        assertEquals(0, converted.get(Calendar.HOUR_OF_DAY));
+    }
+
+    private static HistoricalQuote createHistoricalQuote(int year, int month, int day, double close) {
+        HistoricalQuote historicalQuote = new HistoricalQuote();
+        historicalQuote.setDate(new GregorianCalendar(year, month, day));
+        historicalQuote.setClose(BigDecimal.valueOf(close));
+        return historicalQuote;
+    }
+}
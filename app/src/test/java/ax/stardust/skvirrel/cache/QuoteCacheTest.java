@@ -0,0 +1,97 @@
+package ax.stardust.skvirrel.cache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import yahoofinance.Stock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class QuoteCacheTest {
+
+    private static final String TICKER = "Test";
+
+    @Test
+    public void testGet() throws IOException {
+        AtomicInteger fetches = new AtomicInteger();
+        QuoteCache quoteCache = new QuoteCache(ticker -> {
+            fetches.incrementAndGet();
+            return new Stock(ticker);
+        }, QuoteCache.TIME_TO_LIVE);
+
+        Stock stock = quoteCache.get(TICKER);
+        assertSame(stock, quoteCache.get(TICKER));
+        assertSame(stock, quoteCache.get(TICKER));
+        assertEquals(1, fetches.get());
+
+        // other tickers are fetched on their own
+        assertNotSame(stock, quoteCache.get("Other"));
+        assertEquals(2, fetches.get());
+
+        assertEquals(2, quoteCache.getHits());
+        assertEquals(2, quoteCache.getMisses());
+
+        // cleared stocks are fetched again
+        quoteCache.clear();
+        assertNotSame(stock, quoteCache.get(TICKER));
+        assertEquals(3, fetches.get());
+    }
+
+    @Test
+    public void testNotFound() throws IOException {
+        AtomicInteger fetches = new AtomicInteger();
+        QuoteCache quoteCache = new QuoteCache(ticker -> {
+            fetches.incrementAndGet();
+            return null;
+        }, QuoteCache.TIME_TO_LIVE);
+
+        // stocks not found are never cached
+        assertNull(quoteCache.get(TICKER));
+        assertNull(quoteCache.get(TICKER));
+        assertEquals(2, fetches.get());
+        assertEquals(0, quoteCache.getHits());
+    }
+
+    @Test
+    public void testException() {
+        QuoteCache quoteCache = new QuoteCache(ticker -> {
+            throw new IOException("Test");
+        }, QuoteCache.TIME_TO_LIVE);
+
+        try {
+            quoteCache.get(TICKER);
+            fail("Exception should have been thrown");
+        } catch (IOException ignore) {
+            // exception is expected
+        }
+    }
+
+    @Test
+    public void testTimeToLive() {
+        QuoteCache quoteCache = new QuoteCache(Stock::new, QuoteCache.MIN_TIME_TO_LIVE);
+        quoteCache.setTimeToLive(QuoteCache.MAX_TIME_TO_LIVE);
+
+        try {
+            quoteCache.setTimeToLive(QuoteCache.MIN_TIME_TO_LIVE - 1);
+            fail("Exception should have been thrown");
+        } catch (IllegalArgumentException ignore) {
+            // exception is expected
+        }
+
+        try {
+            quoteCache.setTimeToLive(QuoteCache.MAX_TIME_TO_LIVE + 1);
+            fail("Exception should have been thrown");
+        } catch (IllegalArgumentException ignore) {
+            // exception is expected
+        }
+    }
+}
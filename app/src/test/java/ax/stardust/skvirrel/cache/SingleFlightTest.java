@@ -0,0 +1,114 @@
+package ax.stardust.skvirrel.cache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class SingleFlightTest {
+
+    private static final String KEY = "Test";
+
+    @Test
+    public void testExecute() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executorService.submit(() -> singleFlight.execute(KEY, () -> {
+                started.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            }));
+
+            // second call arrives while first one is in flight
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            assertTrue(singleFlight.isInFlight(KEY));
+            Future<Integer> second = executorService.submit(() -> singleFlight.execute(KEY, calls::incrementAndGet));
+
+            // second call waits for the first one
+            awaitWaiting(singleFlight);
+            release.countDown();
+            assertEquals(1, (int) first.get(1, TimeUnit.SECONDS));
+            assertEquals(1, (int) second.get(1, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // key is released once call has finished
+        assertFalse(singleFlight.isInFlight(KEY));
+        assertEquals(2, (int) singleFlight.execute(KEY, calls::incrementAndGet));
+    }
+
+    @Test
+    public void testException() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executorService.submit(() -> singleFlight.execute(KEY, () -> {
+                started.countDown();
+                await(release);
+                throw new IOException("Test");
+            }));
+
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            Future<Integer> second = executorService.submit(() -> singleFlight.execute(KEY, () -> 1));
+
+            // second call waits for the first one
+            awaitWaiting(singleFlight);
+            release.countDown();
+            assertIOException(first);
+            assertIOException(second);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertFalse(singleFlight.isInFlight(KEY));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitWaiting(SingleFlight<String, Integer> singleFlight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (singleFlight.getWaiting(KEY) < 1) {
+            assertTrue("No caller is waiting for call in flight", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void assertIOException(Future<Integer> future) throws Exception {
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail("Exception should have been thrown");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ax.stardust.skvirrel.monitoring;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class StockMonitoringTest {
+
+    private static final String TICKER = "T0";
+    private static final String COMPANY_NAME = "company 0 inc";
+
+    @Test
+    public void testIsActive() {
+        StockMonitoring priceAndRsi = provideStockMonitoring(TICKER, COMPANY_NAME);
+        priceAndRsi.getMonitoringOptions().getPriceMonitoring().setValue("10");
+        priceAndRsi.getMonitoringOptions().getRsiMonitoring().setValue("35");
+        assertTrue(priceAndRsi.isActive());
+
+        StockMonitoring price = provideStockMonitoring(TICKER, COMPANY_NAME);
+        price.getMonitoringOptions().getPriceMonitoring().setValue("20");
+        assertTrue(price.isActive());
+
+        StockMonitoring rsi = provideStockMonitoring(TICKER, COMPANY_NAME);
+        rsi.getMonitoringOptions().getRsiMonitoring().setValue("45");
+        assertTrue(rsi.isActive());
+    }
+
+    @Test
+    public void testIsActiveWithoutValidTicker() {
+        StockMonitoring noCompanyName = provideStockMonitoring(TICKER, null);
+        noCompanyName.getMonitoringOptions().getPriceMonitoring().setValue("98");
+        noCompanyName.getMonitoringOptions().getRsiMonitoring().setValue("56");
+        assertFalse(noCompanyName.isActive());
+
+        StockMonitoring noTicker = provideStockMonitoring(null, COMPANY_NAME);
+        noTicker.getMonitoringOptions().getPriceMonitoring().setValue("125");
+        noTicker.getMonitoringOptions().getRsiMonitoring().setValue("20");
+        assertFalse(noTicker.isActive());
+
+        StockMonitoring emptyTicker = provideStockMonitoring("", COMPANY_NAME);
+        emptyTicker.getMonitoringOptions().getPriceMonitoring().setValue("125");
+        assertFalse(emptyTicker.isActive());
+    }
+
+    @Test
+    public void testIsActiveWithoutValidMonitoring() {
+        assertFalse(provideStockMonitoring(TICKER, COMPANY_NAME).isActive());
+
+        StockMonitoring noComparator = provideStockMonitoring(TICKER, COMPANY_NAME);
+        noComparator.getMonitoringOptions().getPeMonitoring().setValue("5");
+        noComparator.getMonitoringOptions().getPeMonitoring().setComparator(null);
+        assertFalse(noComparator.isActive());
+
+        StockMonitoring rsiOutOfRange = provideStockMonitoring(TICKER, COMPANY_NAME);
+        rsiOutOfRange.getMonitoringOptions().getRsiMonitoring().setThreshold(100);
+        assertFalse(rsiOutOfRange.isActive());
+    }
+
+    @Test
+    public void testIsActiveWhenNotified() {
+        StockMonitoring stockMonitoring = provideStockMonitoring(TICKER, COMPANY_NAME);
+        stockMonitoring.getMonitoringOptions().getPriceMonitoring().setValue("10");
+        stockMonitoring.getMonitoringOptions().getRsiMonitoring().setValue("35");
+
+        // active as long as any valid monitoring is left to be notified
+        stockMonitoring.getMonitoringOptions().getPriceMonitoring().notifyy();
+        assertTrue(stockMonitoring.isActive());
+
+        stockMonitoring.getMonitoringOptions().getRsiMonitoring().notifyy();
+        assertFalse(stockMonitoring.isActive());
+
+        stockMonitoring.resetNotified();
+        assertTrue(stockMonitoring.isActive());
+    }
+
+    private static StockMonitoring provideStockMonitoring(String ticker, String companyName) {
+        StockMonitoring stockMonitoring = new StockMonitoring();
+        stockMonitoring.setTicker(ticker);
+        stockMonitoring.setCompanyName(companyName);
+        return stockMonitoring;
+    }
+}
@@ -0,0 +1,307 @@
+package ax.stardust.skvirrel.persistence;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import ax.stardust.skvirrel.cache.IndicatorCache;
+import ax.stardust.skvirrel.monitoring.AbstractMonitoring;
+import ax.stardust.skvirrel.monitoring.StockMonitoring;
+import ax.stardust.skvirrel.persistence.gson.AbstractMonitoringJsonAdapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class DatabaseHelperTest {
+
+    private static final String TICKER = "T0";
+    private static final String COMPANY_NAME = "company 0 inc";
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.closeInstance();
+    }
+
+    @Test
+    public void testWriteAheadLogging() {
+        SQLiteDatabase database = DatabaseHelper.getInstance(context).getWritableDatabase();
+        assertTrue(database.isWriteAheadLoggingEnabled());
+        assertEquals("wal", DatabaseUtils.stringForQuery(database, "PRAGMA journal_mode", null));
+    }
+
+    @Test
+    public void testSynchronousNormal() {
+        // synchronous is set per connection, within a transaction the primary connection is queried
+        TransactionHandler.runInTransaction(context, database ->
+                assertEquals(1, DatabaseUtils.longForQuery(database, "PRAGMA synchronous", null)));
+    }
+
+    @Test(timeout = 10000)
+    public void testReadDuringWrite() throws InterruptedException {
+        DatabaseManager databaseManager = new DatabaseManager(context);
+        databaseManager.insert(provideActiveStockMonitoring());
+        IndicatorCache indicatorCache = new IndicatorCache(TICKER);
+        indicatorCache.setSma(10);
+        indicatorCache.setRsi(50);
+        databaseManager.insert(indicatorCache);
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch read = new CountDownLatch(1);
+        AtomicReference<InterruptedException> interrupted = new AtomicReference<>();
+
+        // keeps a write transaction open until the read is done
+        Thread writer = new Thread(() -> TransactionHandler.runInTransaction(context, database -> {
+            database.execSQL("UPDATE " + DatabaseHelper.STOCK_MONITORING_TABLE_NAME + " SET "
+                    + DatabaseHelper.TICKER_COLUMN + " = 'T1'");
+            database.execSQL("UPDATE " + DatabaseHelper.INDICATOR_VALUE_TABLE_NAME + " SET "
+                    + DatabaseHelper.VALUE_COLUMN + " = 0");
+            database.execSQL("INSERT INTO " + DatabaseHelper.INDICATOR_CACHE_TABLE_NAME + "("
+                    + DatabaseHelper.TICKER_COLUMN + ") VALUES('T1')");
+            written.countDown();
+            try {
+                read.await();
+            } catch (InterruptedException e) {
+                interrupted.set(e);
+            }
+        }));
+        writer.start();
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+
+        // read neither waits for the write nor sees it before it's committed
+        assertEquals(Collections.singletonList(TICKER), databaseManager.fetchAllTickersForMonitoring());
+        assertIndicatorCache(indicatorCache, 10, 50, databaseManager.fetchIndicatorCacheForTicker(TICKER));
+        List<IndicatorCache> indicatorCaches = databaseManager.fetchAllIndicatorCaches();
+        assertEquals(1, indicatorCaches.size());
+        assertIndicatorCache(indicatorCache, 10, 50, indicatorCaches.get(0));
+
+        read.countDown();
+        writer.join();
+        assertNull(interrupted.get());
+        assertEquals(Collections.singletonList("T1"), databaseManager.fetchAllTickersForMonitoring());
+        assertIndicatorCache(indicatorCache, 0, 0, databaseManager.fetchIndicatorCacheForTicker(TICKER));
+        assertEquals(2, databaseManager.fetchAllIndicatorCaches().size());
+
+        // indicator cache without values is read as well
+        IndicatorCache withoutValues = databaseManager.fetchIndicatorCacheForTicker("T1");
+        assertNotNull(withoutValues);
+        assertTrue(withoutValues.getValues().isEmpty());
+    }
+
+    @Test
+    public void testUpgradeSetsActiveAsStockMonitoring() {
+        createVersion6Database();
+
+        // upgrade to current version takes place when opened by the helper
+        DatabaseManager databaseManager = new DatabaseManager(context);
+        List<Long> active = databaseManager.fetchAllStockMonitorings().stream()
+                .filter(StockMonitoring::isActive)
+                .map(StockMonitoring::getId)
+                .collect(Collectors.toList());
+        List<Long> forMonitoring = databaseManager.fetchAllStockMonitoringsForMonitoring().stream()
+                .map(StockMonitoring::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(1L, 3L, 9L), active);
+        assertEquals(active, forMonitoring);
+        assertEquals(Arrays.asList("T0", "T2"), databaseManager.fetchAllTickersForMonitoring());
+    }
+
+    @Test
+    public void testUpgradeMigratesMonitoringOptions() {
+        createVersion5Database();
+
+        // upgrade to current version takes place when opened by the helper
+        List<StockMonitoring> stockMonitorings = new DatabaseManager(context).fetchAllStockMonitorings();
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), stockMonitorings.stream()
+                .map(StockMonitoring::getId)
+                .collect(Collectors.toList()));
+        assertEquals(Arrays.asList("T0", "T1", "T2", "T3", "T4"), stockMonitorings.stream()
+                .map(StockMonitoring::getTicker)
+                .collect(Collectors.toList()));
+
+        // monitorings of valid json are migrated as they were
+        StockMonitoring migrated = stockMonitorings.get(0);
+        assertEquals("company 0 inc", migrated.getCompanyName());
+        assertEquals(StockMonitoring.ViewState.EXPANDED, migrated.getViewState());
+        assertEquals("10", migrated.getMonitoringOptions().getPriceMonitoring().getValue());
+        assertFalse(migrated.getMonitoringOptions().getPriceMonitoring().isNotified());
+        assertEquals("35", migrated.getMonitoringOptions().getRsiMonitoring().getValue());
+        assertTrue(migrated.getMonitoringOptions().getRsiMonitoring().isNotified());
+        assertTrue(migrated.isActive());
+
+        // malformed json, no json and json of unexpected types leaves stock monitoring with new monitorings
+        stockMonitorings.subList(1, stockMonitorings.size()).forEach(stockMonitoring -> {
+            assertEquals("company " + (stockMonitoring.getId() - 1) + " inc", stockMonitoring.getCompanyName());
+            assertEquals("0", stockMonitoring.getMonitoringOptions().getPriceMonitoring().getValue());
+            assertEquals("0", stockMonitoring.getMonitoringOptions().getRsiMonitoring().getValue());
+            assertFalse(stockMonitoring.isActive());
+        });
+
+        SQLiteDatabase database = DatabaseHelper.getInstance(context).getReadableDatabase();
+        assertEquals(3, DatabaseUtils.queryNumEntries(database, DatabaseHelper.MONITORING_TABLE_NAME));
+        assertEquals(3, DatabaseUtils.queryNumEntries(database, DatabaseHelper.MONITORING_TABLE_NAME,
+                DatabaseHelper.STOCK_MONITORING_ID_COLUMN + " = 1"));
+        Cursor cursor = database.rawQuery(DatabaseHelper.SELECT_ALL_FROM_STOCK_MONITORING_TABLE, null);
+        assertEquals(Arrays.asList("id", "Ticker", "CompanyName", "ViewState", "SortingOrder", "Active"),
+                Arrays.asList(cursor.getColumnNames()));
+        cursor.close();
+        assertEquals(Collections.singletonList("T0"), new DatabaseManager(context).fetchAllTickersForMonitoring());
+    }
+
+    private static void assertIndicatorCache(IndicatorCache expected, double sma, double rsi, IndicatorCache actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTicker(), actual.getTicker());
+        assertEquals(2, actual.getValues().size());
+        assertEquals(sma, actual.getSma(), 0);
+        assertEquals(rsi, actual.getRsi(), 0);
+    }
+
+    /**
+     * Creates database as of version 5, with only the table touched by later upgrades. Monitorings
+     * are stored as json within the stock monitoring
+     */
+    private void createVersion5Database() {
+        File file = context.getDatabasePath("Skvirrel.db");
+        assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+
+        SQLiteDatabase database = SQLiteDatabase.openOrCreateDatabase(file, null);
+        database.execSQL("CREATE TABLE StockMonitoring(id INTEGER PRIMARY KEY AUTOINCREMENT, Ticker TEXT, "
+                + "CompanyName TEXT, MonitoringOptions TEXT, ViewState TEXT, SortingOrder INTEGER DEFAULT 0);");
+
+        // valid json, as serialized by previous versions
+        StockMonitoring stockMonitoring = provideActiveStockMonitoring();
+        stockMonitoring.getMonitoringOptions().getRsiMonitoring().setValue("35");
+        stockMonitoring.getMonitoringOptions().getRsiMonitoring().notifyy();
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(AbstractMonitoring.class, new AbstractMonitoringJsonAdapter())
+                .create();
+        insertVersion5StockMonitoring(database, 1, gson.toJson(stockMonitoring.getMonitoringOptions()));
+        // malformed json
+        insertVersion5StockMonitoring(database, 2, "{\"monitoringOptions\":[");
+        // no json
+        insertVersion5StockMonitoring(database, 3, null);
+        // json of unexpected types, fails on casts rather than on parsing
+        insertVersion5StockMonitoring(database, 4, "{\"monitoringOptions\":[1]}");
+        insertVersion5StockMonitoring(database, 5,
+                "{\"monitoringOptions\":[{\"monitoringClass\":\"java.lang.String\",\"data\":\"PRICE\"}]}");
+
+        database.setVersion(5);
+        database.close();
+    }
+
+    private static void insertVersion5StockMonitoring(SQLiteDatabase database, long id, String monitoringOptions) {
+        ContentValues contentValues = new ContentValues();
+        contentValues.put("id", id);
+        contentValues.put("Ticker", "T" + (id - 1));
+        contentValues.put("CompanyName", "company " + (id - 1) + " inc");
+        contentValues.put("MonitoringOptions", monitoringOptions);
+        contentValues.put("ViewState", "EXPANDED");
+        contentValues.put("SortingOrder", id);
+        assertEquals(id, database.insert("StockMonitoring", null, contentValues));
+    }
+
+    /**
+     * Creates database as of version 6, with only the tables touched by later upgrades
+     */
+    private void createVersion6Database() {
+        File file = context.getDatabasePath("Skvirrel.db");
+        assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+
+        SQLiteDatabase database = SQLiteDatabase.openOrCreateDatabase(file, null);
+        database.execSQL("CREATE TABLE StockMonitoring(id INTEGER PRIMARY KEY AUTOINCREMENT, Ticker TEXT, "
+                + "CompanyName TEXT, ViewState TEXT, SortingOrder INTEGER DEFAULT 0);");
+        database.execSQL("CREATE TABLE Monitoring(id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "StockMonitoringId INTEGER NOT NULL, Type TEXT NOT NULL, Comparator TEXT, "
+                + "Threshold REAL NOT NULL DEFAULT 0, Notified INTEGER NOT NULL DEFAULT 0, "
+                + "UNIQUE(StockMonitoringId, Type));");
+        database.execSQL("CREATE INDEX StockMonitoringTickerIndex ON StockMonitoring(Ticker);");
+
+        // valid monitoring left to be notified
+        insertVersion6StockMonitoring(database, 1, "'T0'", "'company 0 inc'");
+        insertVersion6Monitoring(database, 1, "PRICE", "'BELOW'", 10, false);
+        insertVersion6Monitoring(database, 1, "RSI", "'ABOVE'", 70, true);
+        // rsi out of range is not valid
+        insertVersion6StockMonitoring(database, 2, "'T1'", "'company 1 inc'");
+        insertVersion6Monitoring(database, 2, "RSI", "'BELOW'", 100, false);
+        // one of two valid monitorings notified
+        insertVersion6StockMonitoring(database, 3, "'T2'", "'company 2 inc'");
+        insertVersion6Monitoring(database, 3, "PRICE", "'ABOVE'", 10, true);
+        insertVersion6Monitoring(database, 3, "PE", "'BELOW'", 5.5, false);
+        // all valid monitorings notified
+        insertVersion6StockMonitoring(database, 4, "'T3'", "'company 3 inc'");
+        insertVersion6Monitoring(database, 4, "PRICE", "'BELOW'", 10, true);
+        insertVersion6Monitoring(database, 4, "RSI", "'BELOW'", 0, false);
+        // no company name
+        insertVersion6StockMonitoring(database, 5, "'T4'", "''");
+        insertVersion6Monitoring(database, 5, "PRICE", "'BELOW'", 10, false);
+        insertVersion6StockMonitoring(database, 6, "'T5'", "NULL");
+        insertVersion6Monitoring(database, 6, "PRICE", "'BELOW'", 10, false);
+        // no ticker
+        insertVersion6StockMonitoring(database, 7, "NULL", "'company 6 inc'");
+        insertVersion6Monitoring(database, 7, "PRICE", "'BELOW'", 10, false);
+        // no comparator, or no monitorings at all
+        insertVersion6StockMonitoring(database, 8, "'T7'", "'company 7 inc'");
+        insertVersion6Monitoring(database, 8, "PE", "NULL", 5, false);
+        insertVersion6StockMonitoring(database, 10, "'T9'", "'company 9 inc'");
+        // same ticker as another active stock monitoring
+        insertVersion6StockMonitoring(database, 9, "'T0'", "'company 0 inc'");
+        insertVersion6Monitoring(database, 9, "RSI", "'ABOVE'", 70, false);
+
+        database.setVersion(6);
+        database.close();
+    }
+
+    private static void insertVersion6StockMonitoring(SQLiteDatabase database, long id, String ticker, String companyName) {
+        database.execSQL(String.format(Locale.ROOT, "INSERT INTO StockMonitoring VALUES(%d, %s, %s, 'EXPANDED', %d)",
+                id, ticker, companyName, id));
+    }
+
+    private static void insertVersion6Monitoring(SQLiteDatabase database, long stockMonitoringId, String type,
+                                                 String comparator, double threshold, boolean notified) {
+        database.execSQL(String.format(Locale.ROOT, "INSERT INTO Monitoring(StockMonitoringId, Type, Comparator, "
+                        + "Threshold, Notified) VALUES(%d, '%s', %s, %s, %d)",
+                stockMonitoringId, type, comparator, threshold, notified ? 1 : 0));
+    }
+
+    private static StockMonitoring provideActiveStockMonitoring() {
+        StockMonitoring stockMonitoring = new StockMonitoring();
+        stockMonitoring.setTicker(TICKER);
+        stockMonitoring.setCompanyName(COMPANY_NAME);
+        stockMonitoring.getMonitoringOptions().getPriceMonitoring().setValue("10");
+        return stockMonitoring;
+    }
+}
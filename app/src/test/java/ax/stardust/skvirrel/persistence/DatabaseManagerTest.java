@@ -1,46 +1,63 @@
 package ax.stardust.skvirrel.persistence;
 
-import org.junit.BeforeClass;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.Mockito;
-import org.mockito.junit.MockitoJUnitRunner;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import ax.stardust.skvirrel.cache.CompanyName;
+import ax.stardust.skvirrel.cache.IndicatorCache;
+import ax.stardust.skvirrel.cache.PriceHistory;
 import ax.stardust.skvirrel.monitoring.StockMonitoring;
+import yahoofinance.histquotes.HistoricalQuote;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
-@RunWith(MockitoJUnitRunner.class)
+@RunWith(RobolectricTestRunner.class)
 public class DatabaseManagerTest {
 
     private static final String TICKER_0 = "T0";
     private static final String TICKER_1 = "T1";
     private static final String TICKER_2 = "T2";
     private static final String TICKER_3 = "T3";
+    private static final String TICKER_4 = "T4";
 
     private static final String COMPANY_NAME_0 = "company 0 inc";
     private static final String COMPANY_NAME_1 = "company 1 inc";
     private static final String COMPANY_NAME_2 = "company 2 inc";
     private static final String COMPANY_NAME_3 = "company 3 inc";
 
-    private static DatabaseManager mockedDatabaseManager;
+    // size of the cached price history of each ticker
+    private static final int PRICE_HISTORY_SIZE = 5;
 
-    @BeforeClass
-    public static void setUp() {
-        mockedDatabaseManager = Mockito.mock(DatabaseManager.class);
-        Mockito.when(mockedDatabaseManager.fetchAllStockMonitoringsForMonitoring()).thenCallRealMethod();
-        Mockito.when(mockedDatabaseManager.fetchAllTickersForMonitoring()).thenCallRealMethod();
-        Mockito.when(mockedDatabaseManager.fetchAllStockMonitorings()).thenReturn(provideMockStockMonitorings());
+    private DatabaseManager databaseManager;
+
+    @Before
+    public void setUp() {
+        databaseManager = new DatabaseManager(RuntimeEnvironment.getApplication());
+        provideMockStockMonitorings().forEach(databaseManager::insert);
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.closeInstance();
     }
 
     @Test
     public void testFetchAllForMonitoring() {
-        List<StockMonitoring> stockMonitorings = mockedDatabaseManager.fetchAllStockMonitoringsForMonitoring();
+        List<StockMonitoring> stockMonitorings = databaseManager.fetchAllStockMonitoringsForMonitoring();
         assertNotNull(stockMonitorings);
         assertEquals(3, stockMonitorings.size());
 
@@ -65,13 +82,223 @@ public class DatabaseManagerTest {
 
     @Test
     public void testFetchAllTickersForMonitoring() {
-        ArrayList<String> tickers = mockedDatabaseManager.fetchAllTickersForMonitoring();
+        List<String> tickers = databaseManager.fetchAllTickersForMonitoring();
         assertNotNull(tickers);
         assertEquals(2, tickers.size());
         assertTrue(tickers.contains(TICKER_0));
         assertTrue(tickers.contains(TICKER_1));
     }
 
+    @Test
+    public void testFetchAllForMonitoringFollowsNotified() {
+        StockMonitoring sm0 = databaseManager.fetchAllStockMonitoringsForMonitoring().get(0);
+        assertEquals(TICKER_0, sm0.getTicker());
+
+        // still active with one monitoring left to be notified
+        sm0.getMonitoringOptions().getPriceMonitoring().notifyy();
+        databaseManager.update(sm0);
+        assertEquals(3, databaseManager.fetchAllStockMonitoringsForMonitoring().size());
+        assertTrue(databaseManager.fetchAllTickersForMonitoring().contains(TICKER_0));
+
+        sm0.getMonitoringOptions().getRsiMonitoring().notifyy();
+        databaseManager.update(sm0);
+        List<StockMonitoring> stockMonitorings = databaseManager.fetchAllStockMonitoringsForMonitoring();
+        assertEquals(2, stockMonitorings.size());
+        assertTrue(stockMonitorings.stream().noneMatch(sm -> sm.getId() == sm0.getId()));
+        assertEquals(Collections.singletonList(TICKER_1), databaseManager.fetchAllTickersForMonitoring());
+
+        // notified stock monitoring is still stored, just not monitored
+        assertEquals(6, databaseManager.fetchAllStockMonitorings().size());
+
+        sm0.resetNotified();
+        databaseManager.update(sm0);
+        assertEquals(3, databaseManager.fetchAllStockMonitoringsForMonitoring().size());
+        assertTrue(databaseManager.fetchAllTickersForMonitoring().contains(TICKER_0));
+    }
+
+    @Test
+    public void testFetchAllForMonitoringFollowsTicker() {
+        StockMonitoring sm2 = databaseManager.fetchAllStockMonitorings().get(3);
+        assertEquals(TICKER_2, sm2.getTicker());
+
+        sm2.getMonitoringOptions().getPriceMonitoring().setValue("30");
+        databaseManager.update(sm2);
+        assertEquals(4, databaseManager.fetchAllStockMonitoringsForMonitoring().size());
+        assertTrue(databaseManager.fetchAllTickersForMonitoring().contains(TICKER_2));
+
+        sm2.setCompanyName("");
+        databaseManager.update(sm2);
+        assertEquals(3, databaseManager.fetchAllStockMonitoringsForMonitoring().size());
+        assertEquals(2, databaseManager.fetchAllTickersForMonitoring().size());
+    }
+
+    @Test
+    public void testUpdateAll() {
+        List<StockMonitoring> stockMonitorings = databaseManager.fetchAllStockMonitorings();
+        assertEquals(6, stockMonitorings.size());
+
+        // reverse sorting order, stop monitoring T0 and start monitoring T2
+        for (int i = 0; i < stockMonitorings.size(); i++) {
+            stockMonitorings.get(i).setSortingOrder(stockMonitorings.size() - 1 - i);
+        }
+        StockMonitoring sm0 = stockMonitorings.get(0);
+        sm0.getMonitoringOptions().getPriceMonitoring().notifyy();
+        sm0.getMonitoringOptions().getRsiMonitoring().notifyy();
+        StockMonitoring sm2 = stockMonitorings.get(3);
+        sm2.getMonitoringOptions().getPriceMonitoring().setValue("30");
+        databaseManager.updateAll(stockMonitorings);
+
+        List<StockMonitoring> updated = databaseManager.fetchAllStockMonitorings();
+        List<Long> reversedIds = stockMonitorings.stream()
+                .map(StockMonitoring::getId)
+                .collect(Collectors.toList());
+        Collections.reverse(reversedIds);
+        assertEquals(reversedIds, updated.stream()
+                .map(StockMonitoring::getId)
+                .collect(Collectors.toList()));
+        assertTrue(updated.get(5).getMonitoringOptions().getRsiMonitoring().isNotified());
+        assertEquals("30", updated.get(2).getMonitoringOptions().getPriceMonitoring().getValue());
+        assertEquals(Arrays.asList(TICKER_1, TICKER_2), databaseManager.fetchAllTickersForMonitoring().stream()
+                .sorted()
+                .collect(Collectors.toList()));
+
+        // nothing to update
+        databaseManager.updateAll(Collections.emptyList());
+        assertEquals(6, databaseManager.fetchAllStockMonitorings().size());
+    }
+
+    @Test
+    public void testUpdatePriceHistory() {
+        databaseManager.update(new PriceHistory(TICKER_4, provideHistoricalQuotes(19000, 19009, 10)),
+                PriceHistory.toCalendar(19000));
+
+        List<HistoricalQuote> historicalQuotes = databaseManager.fetchPriceHistoryForTicker(TICKER_4).getHistoricalQuotes();
+        assertEquals(10, historicalQuotes.size());
+        for (int i = 0; i < historicalQuotes.size(); i++) {
+            // dates are stored as epoch days and read back as start of day
+            HistoricalQuote historicalQuote = historicalQuotes.get(i);
+            assertEquals(PriceHistory.toCalendar(19000 + i).getTimeInMillis(), historicalQuote.getDate().getTimeInMillis());
+            assertEquals(10 + i, historicalQuote.getClose().doubleValue(), 0);
+            assertNull(historicalQuote.getOpen());
+        }
+        assertTrue(databaseManager.fetchPriceHistoryForTicker(TICKER_0).getHistoricalQuotes().isEmpty());
+    }
+
+    @Test
+    public void testUpdatePriceHistoryFromDate() {
+        databaseManager.update(new PriceHistory(TICKER_4, provideHistoricalQuotes(19000, 19009, 10)),
+                PriceHistory.toCalendar(19000));
+
+        // days before the oldest quote are deleted, days from given date are replaced and days in
+        // between are kept as stored
+        List<HistoricalQuote> historicalQuotes = provideHistoricalQuotes(19003, 19006, 0);
+        historicalQuotes.addAll(provideHistoricalQuotes(19007, 19012, 100));
+        databaseManager.update(new PriceHistory(TICKER_4, historicalQuotes), PriceHistory.toCalendar(19007));
+
+        List<HistoricalQuote> stored = databaseManager.fetchPriceHistoryForTicker(TICKER_4).getHistoricalQuotes();
+        assertEquals(Arrays.asList(19003L, 19004L, 19005L, 19006L, 19007L, 19008L, 19009L, 19010L, 19011L, 19012L),
+                stored.stream()
+                        .map(historicalQuote -> PriceHistory.toEpochDay(historicalQuote.getDate()))
+                        .collect(Collectors.toList()));
+        assertEquals(Arrays.asList(13.0, 14.0, 15.0, 16.0, 100.0, 101.0, 102.0, 103.0, 104.0, 105.0),
+                stored.stream()
+                        .map(historicalQuote -> historicalQuote.getClose().doubleValue())
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testDeleteUnusedCacheRows() {
+        provideMockCacheRows();
+
+        // indicator cache, its three values and the price history of T2, T3 and T4 together with
+        // the expired company names of T0 and T4
+        assertEquals(3 + 3 * 3 + 3 * PRICE_HISTORY_SIZE + 2, databaseManager.deleteUnusedCacheRows(10));
+
+        for (String ticker : Arrays.asList(TICKER_0, TICKER_1)) {
+            assertEquals(PRICE_HISTORY_SIZE, databaseManager.fetchPriceHistoryForTicker(ticker).getHistoricalQuotes().size());
+            assertEquals(3, databaseManager.fetchIndicatorCacheForTicker(ticker).getValues().size());
+        }
+        for (String ticker : Arrays.asList(TICKER_2, TICKER_3, TICKER_4)) {
+            assertTrue(databaseManager.fetchPriceHistoryForTicker(ticker).getHistoricalQuotes().isEmpty());
+            assertNull(databaseManager.fetchIndicatorCacheForTicker(ticker));
+        }
+
+        assertNull(databaseManager.fetchCompanyNameForTicker(TICKER_0));
+        assertNotNull(databaseManager.fetchCompanyNameForTicker(TICKER_1));
+        assertNotNull(databaseManager.fetchCompanyNameForTicker(TICKER_2));
+        assertNotNull(databaseManager.fetchCompanyNameForTicker(TICKER_3));
+        assertNull(databaseManager.fetchCompanyNameForTicker(TICKER_4));
+
+        assertEquals(0, databaseManager.deleteUnusedCacheRows(10));
+    }
+
+    @Test
+    public void testDeleteUnusedCacheRowsWithinBudget() {
+        provideMockCacheRows();
+
+        // budget applies to tickers, all rows of two of the unused tickers are deleted
+        assertEquals(2 + 2 * 3 + 2 * PRICE_HISTORY_SIZE + 2, databaseManager.deleteUnusedCacheRows(2));
+        assertEquals(Arrays.asList(PRICE_HISTORY_SIZE, PRICE_HISTORY_SIZE), fetchPriceHistorySizes(TICKER_0, TICKER_1));
+        List<Integer> unusedSizes = fetchPriceHistorySizes(TICKER_2, TICKER_3, TICKER_4);
+        assertEquals(2, Collections.frequency(unusedSizes, 0));
+        assertEquals(1, Collections.frequency(unusedSizes, PRICE_HISTORY_SIZE));
+        assertEquals(3, databaseManager.fetchAllIndicatorCaches().size());
+
+        // what's left is deleted by next call
+        assertEquals(1 + 3 + PRICE_HISTORY_SIZE, databaseManager.deleteUnusedCacheRows(2));
+        assertEquals(Arrays.asList(PRICE_HISTORY_SIZE, PRICE_HISTORY_SIZE, 0, 0, 0),
+                fetchPriceHistorySizes(TICKER_0, TICKER_1, TICKER_2, TICKER_3, TICKER_4));
+        assertEquals(Arrays.asList(TICKER_0, TICKER_1), databaseManager.fetchAllIndicatorCaches().stream()
+                .map(IndicatorCache::getTicker)
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    private List<Integer> fetchPriceHistorySizes(String... tickers) {
+        return Arrays.stream(tickers)
+                .map(ticker -> databaseManager.fetchPriceHistoryForTicker(ticker).getHistoricalQuotes().size())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Provides cached data of the tickers of the mocked stock monitorings, only T0 and T1 are
+     * actively monitored, and of T4 which isn't monitored at all. Company names of T0 and T4 have
+     * expired
+     */
+    private void provideMockCacheRows() {
+        long now = System.currentTimeMillis();
+
+        for (String ticker : Arrays.asList(TICKER_0, TICKER_1, TICKER_2, TICKER_3, TICKER_4)) {
+            databaseManager.update(new PriceHistory(ticker, provideHistoricalQuotes(19000,
+                    19000 + PRICE_HISTORY_SIZE - 1, 10)), PriceHistory.toCalendar(19000));
+
+            IndicatorCache indicatorCache = new IndicatorCache(ticker);
+            indicatorCache.setSma(10);
+            indicatorCache.setEma(11);
+            indicatorCache.setRsi(50);
+            indicatorCache.setExpires(now + 60000);
+            databaseManager.insert(indicatorCache);
+
+            boolean expired = TICKER_0.equals(ticker) || TICKER_4.equals(ticker);
+            databaseManager.update(new CompanyName(ticker, "company " + ticker, expired ? now - 1 : now + 60000));
+        }
+    }
+
+    /**
+     * Provides one historical quote per day between given epoch days, both included, closing at
+     * given close the first day and one more for each day after
+     */
+    private static List<HistoricalQuote> provideHistoricalQuotes(long fromEpochDay, long toEpochDay, double close) {
+        List<HistoricalQuote> historicalQuotes = new ArrayList<>();
+        for (long epochDay = fromEpochDay; epochDay <= toEpochDay; epochDay++) {
+            HistoricalQuote historicalQuote = new HistoricalQuote();
+            historicalQuote.setDate(PriceHistory.toCalendar(epochDay));
+            historicalQuote.setClose(BigDecimal.valueOf(close + epochDay - fromEpochDay));
+            historicalQuotes.add(historicalQuote);
+        }
+        return historicalQuotes;
+    }
+
     private static List<StockMonitoring> provideMockStockMonitorings() {
         StockMonitoring sm0 = new StockMonitoring();
         sm0.setTicker(TICKER_0);
@@ -111,6 +338,11 @@ public class DatabaseManagerTest {
         stockMonitorings.add(sm3);
         stockMonitorings.add(sm3_3);
 
+        // stock monitorings are fetched in sorting order
+        for (int i = 0; i < stockMonitorings.size(); i++) {
+            stockMonitorings.get(i).setSortingOrder(i);
+        }
+
         return stockMonitorings;
     }
 }
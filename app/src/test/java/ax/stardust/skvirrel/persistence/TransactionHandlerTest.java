@@ -0,0 +1,108 @@
+package ax.stardust.skvirrel.persistence;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+@RunWith(RobolectricTestRunner.class)
+public class TransactionHandlerTest {
+
+    private static final String TICKER_0 = "T0";
+    private static final String TICKER_1 = "T1";
+    private static final String TICKER_2 = "T2";
+
+    private Context context;
+    private ExecutorService reader;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        reader = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        reader.shutdownNow();
+        DatabaseHelper.closeInstance();
+    }
+
+    @Test(timeout = 10000)
+    public void testCommitsOnce() {
+        TransactionHandler.runInTransaction(context, database -> {
+            insertStockMonitoring(database, TICKER_0);
+
+            // transaction within a transaction is part of the outer one
+            TransactionHandler.runInTransaction(context, nested -> insertStockMonitoring(nested, TICKER_1));
+
+            assertEquals(0, countStockMonitoringsFromReader());
+        });
+
+        assertEquals(2, countStockMonitoringsFromReader());
+    }
+
+    @Test(timeout = 10000)
+    public void testRollsBackAsWhole() {
+        TransactionHandler.runInTransaction(context, database -> insertStockMonitoring(database, TICKER_0));
+
+        IllegalStateException failure = new IllegalStateException("write failed");
+        try {
+            TransactionHandler.runInTransaction(context, database -> {
+                database.execSQL("UPDATE " + DatabaseHelper.STOCK_MONITORING_TABLE_NAME + " SET "
+                        + DatabaseHelper.TICKER_COLUMN + " = '" + TICKER_1 + "'");
+                insertStockMonitoring(database, TICKER_2);
+                TransactionHandler.runInTransaction(context, nested -> insertStockMonitoring(nested, TICKER_2));
+                throw failure;
+            });
+            fail("Exception should have been thrown");
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+
+        // nothing of the failed transaction is kept, and database is still writable
+        assertEquals(1, countStockMonitoringsFromReader());
+        TransactionHandler.runInTransaction(context, database -> assertEquals(TICKER_0,
+                DatabaseUtils.stringForQuery(database, "SELECT " + DatabaseHelper.TICKER_COLUMN + " FROM "
+                        + DatabaseHelper.STOCK_MONITORING_TABLE_NAME, null)));
+    }
+
+    /**
+     * Counts stock monitorings from another thread, which reads committed data only
+     */
+    private long countStockMonitoringsFromReader() {
+        AtomicLong count = new AtomicLong();
+        try {
+            reader.submit(() -> TransactionHandler.runRead(context, database ->
+                    count.set(DatabaseUtils.queryNumEntries(database, DatabaseHelper.STOCK_MONITORING_TABLE_NAME))))
+                    .get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            throw new AssertionError("Unable to count stock monitorings", e);
+        }
+        return count.get();
+    }
+
+    private static void insertStockMonitoring(SQLiteDatabase database, String ticker) {
+        ContentValues contentValues = new ContentValues();
+        contentValues.put(DatabaseHelper.TICKER_COLUMN, ticker);
+        contentValues.put(DatabaseHelper.VIEW_STATE_COLUMN, "EXPANDED");
+        database.insertOrThrow(DatabaseHelper.STOCK_MONITORING_TABLE_NAME, null, contentValues);
+    }
+}
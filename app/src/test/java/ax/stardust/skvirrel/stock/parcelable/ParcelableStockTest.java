@@ -21,19 +21,24 @@ import java.util.TimeZone;
 import ax.stardust.skvirrel.cache.CacheManager;
 import ax.stardust.skvirrel.cache.IndicatorCache;
 import ax.stardust.skvirrel.stock.indicator.ExponentialMovingAverage;
+import ax.stardust.skvirrel.stock.indicator.IndicatorEvaluator;
+import ax.stardust.skvirrel.stock.indicator.IndicatorSpec;
+import ax.stardust.skvirrel.stock.indicator.PriceSeries;
+import ax.stardust.skvirrel.stock.indicator.RelativeStrengthIndex;
 import ax.stardust.skvirrel.stock.indicator.SimpleMovingAverage;
 import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
 import ax.stardust.skvirrel.util.SkvirrelUtils;
 import yahoofinance.Stock;
-import yahoofinance.histquotes.Interval;
 import yahoofinance.quotes.stock.StockDividend;
 import yahoofinance.quotes.stock.StockQuote;
 import yahoofinance.quotes.stock.StockStats;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({SimpleMovingAverage.class, ExponentialMovingAverage.class, ParcelableStock.class})
+@PrepareForTest({IndicatorEvaluator.class, ParcelableStock.class})
 public class ParcelableStockTest {
 
     private static final String NOT_AVAILABLE = "N/A";
@@ -76,6 +81,10 @@ public class ParcelableStockTest {
     private static final ExponentialMovingAverage EMA_MOCK =
             ExponentialMovingAverage.create(SkvirrelTestUtils.getMockedHistoricalQuotes(), PRICE, 14);
 
+    private static final RelativeStrengthIndex RSI_MOCK =
+            RelativeStrengthIndex.create(SkvirrelTestUtils.getMockedHistoricalQuotes(), PRICE, 14);
+
+    private static IndicatorCache indicatorCache;
     private static Context mockedContext;
     private static CacheManager mockedCacheManager;
     private static Stock mockedStock;
@@ -84,7 +93,7 @@ public class ParcelableStockTest {
 
     @BeforeClass
     public static void setUp() throws IOException {
-        IndicatorCache indicatorCache = new IndicatorCache(TICKER);
+        indicatorCache = new IndicatorCache(TICKER);
         StockQuote mockedQuote = Mockito.mock(StockQuote.class);
 
         mockedContext = Mockito.mock(Context.class);
@@ -95,6 +104,12 @@ public class ParcelableStockTest {
 
         Mockito.when(mockedCacheManager.getIndicatorCache(Mockito.anyString())).thenReturn(indicatorCache);
         Mockito.when(mockedCacheManager.updateIndicatorCache(indicatorCache)).thenReturn(indicatorCache);
+        Mockito.when(mockedCacheManager.refreshIndicatorCache(Mockito.anyString(),
+                Mockito.any(CacheManager.IndicatorRefresh.class))).thenAnswer(invocation ->
+                mockedCacheManager.updateIndicatorCache(invocation.<CacheManager.IndicatorRefresh>getArgument(1)
+                        .refresh(indicatorCache)));
+        Mockito.when(mockedCacheManager.getPriceHistory(Mockito.any(Stock.class)))
+                .thenReturn(SkvirrelTestUtils.getMockedHistoricalQuotes());
 
         Mockito.when(mockedQuote.getPrice()).thenReturn(PRICE);
         Mockito.when(mockedQuote.getChange()).thenReturn(CHANGE);
@@ -123,20 +138,23 @@ public class ParcelableStockTest {
         Mockito.when(mockedStock.getQuote()).thenReturn(mockedQuote);
         Mockito.when(mockedStock.getStats()).thenReturn(mockedStats);
         Mockito.when(mockedStock.getDividend()).thenReturn(mockedDividend);
-        Mockito.when(mockedStock.getHistory(Mockito.any(Calendar.class), Mockito.any(Interval.class)))
-                .thenReturn(SkvirrelTestUtils.getMockedHistoricalQuotes());
     }
 
     @Before
     public void init() throws Exception {
         // static mocks
-        PowerMockito.mockStatic(SimpleMovingAverage.class);
-        PowerMockito.mockStatic(ExponentialMovingAverage.class);
+        PowerMockito.mockStatic(IndicatorEvaluator.class);
+
+        IndicatorEvaluator mockedEvaluator = Mockito.mock(IndicatorEvaluator.class);
+        Mockito.when(mockedEvaluator.getResult(IndicatorSpec.sma(SimpleMovingAverage.DEFAULT_PERIOD)))
+                .thenReturn(SMA_MOCK.getLastResult());
+        Mockito.when(mockedEvaluator.getResult(IndicatorSpec.ema(ExponentialMovingAverage.DEFAULT_PERIOD)))
+                .thenReturn(EMA_MOCK.getLastResult());
+        Mockito.when(mockedEvaluator.getResult(IndicatorSpec.rsi(RelativeStrengthIndex.DEFAULT_PERIOD)))
+                .thenReturn(RSI_MOCK.getLastResult());
 
-        PowerMockito.when(SimpleMovingAverage.create(Mockito.anyList(), Mockito.any(BigDecimal.class),
-                Mockito.anyInt())).thenReturn(SMA_MOCK);
-        PowerMockito.when(ExponentialMovingAverage.create(Mockito.anyList(), Mockito.any(BigDecimal.class),
-                Mockito.anyInt())).thenReturn(EMA_MOCK);
+        PowerMockito.when(IndicatorEvaluator.create(Mockito.any(PriceSeries.class), Mockito.any(BigDecimal.class),
+                Mockito.anyList())).thenReturn(mockedEvaluator);
 
         PowerMockito.whenNew(CacheManager.class).withArguments(mockedContext).thenReturn(mockedCacheManager);
     }
@@ -180,6 +198,31 @@ public class ParcelableStockTest {
         assertEquals(SMA_50_CLOSE.doubleValue(), ps.getSma50Close(), SkvirrelTestUtils.DELTA);
         assertEquals(EMA_50_CLOSE.doubleValue(), ps.getEma50Close(), SkvirrelTestUtils.DELTA);
         assertEquals(RSI_14_CLOSE.doubleValue(), ps.getRsi14Close(), SkvirrelTestUtils.DELTA);
+        assertFalse(ps.isStaleIndicators());
+    }
+
+    @Test
+    public void testFromWithStaleIndicators() throws IOException {
+        IndicatorCache expiredIndicatorCache = new IndicatorCache(TICKER);
+        expiredIndicatorCache.setSma(1.1);
+        expiredIndicatorCache.setEma(3.4);
+        expiredIndicatorCache.setRsi(5.2);
+        expiredIndicatorCache.setExpires(Calendar.getInstance().getTimeInMillis() - 1000);
+
+        Mockito.when(mockedCacheManager.getIndicatorCache(Mockito.anyString())).thenReturn(expiredIndicatorCache);
+
+        try {
+            // expired values are used as they are and never written back to cache
+            ParcelableStock ps = ParcelableStock.from(mockedContext, mockedStock, true);
+
+            assertTrue(ps.isStaleIndicators());
+            assertEquals(1.1, ps.getSma50Close(), SkvirrelTestUtils.DELTA);
+            assertEquals(3.4, ps.getEma50Close(), SkvirrelTestUtils.DELTA);
+            assertEquals(5.2, ps.getRsi14Close(), SkvirrelTestUtils.DELTA);
+            Mockito.verify(mockedCacheManager, Mockito.never()).updateIndicatorCache(expiredIndicatorCache);
+        } finally {
+            Mockito.when(mockedCacheManager.getIndicatorCache(Mockito.anyString())).thenReturn(indicatorCache);
+        }
     }
 
     @Test
@@ -0,0 +1,92 @@
+package ax.stardust.skvirrel.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import ax.stardust.skvirrel.stock.indicator.ExponentialMovingAverage;
+import ax.stardust.skvirrel.stock.indicator.IndicatorEvaluator;
+import ax.stardust.skvirrel.stock.indicator.IndicatorSpec;
+import ax.stardust.skvirrel.stock.indicator.PriceSeries;
+import ax.stardust.skvirrel.stock.indicator.RelativeStrengthIndex;
+import ax.stardust.skvirrel.stock.indicator.SimpleMovingAverage;
+import yahoofinance.histquotes.HistoricalQuote;
+
+/**
+ * Benchmarks of the indicators with their default periods, calculated from historical quotes as
+ * well as from a price series converted up front. Current price is always taken into account.
+ */
+@State(Scope.Benchmark)
+public class IndicatorBenchmark {
+
+    private static final List<IndicatorSpec> INDICATOR_SPECS = Arrays.asList(
+            IndicatorSpec.sma(SimpleMovingAverage.DEFAULT_PERIOD),
+            IndicatorSpec.ema(ExponentialMovingAverage.DEFAULT_PERIOD),
+            IndicatorSpec.rsi(RelativeStrengthIndex.DEFAULT_PERIOD));
+
+    @Param({SyntheticQuotes.DAYS_200, SyntheticQuotes.YEARS_2, SyntheticQuotes.YEARS_10})
+    private int tradingDays;
+
+    private List<HistoricalQuote> historicalQuotes;
+    private PriceSeries priceSeries;
+    private BigDecimal currentPrice;
+
+    @Setup
+    public void setUp() {
+        historicalQuotes = SyntheticQuotes.create(tradingDays);
+        priceSeries = PriceSeries.from(historicalQuotes);
+        currentPrice = SyntheticQuotes.currentPrice(historicalQuotes);
+    }
+
+    @Benchmark
+    public double simpleMovingAverage() {
+        return SimpleMovingAverage.create(historicalQuotes, currentPrice,
+                SimpleMovingAverage.DEFAULT_PERIOD).getLastResult();
+    }
+
+    @Benchmark
+    public double exponentialMovingAverage() {
+        return ExponentialMovingAverage.create(historicalQuotes, currentPrice,
+                ExponentialMovingAverage.DEFAULT_PERIOD).getLastResult();
+    }
+
+    @Benchmark
+    public double relativeStrengthIndex() {
+        return RelativeStrengthIndex.create(historicalQuotes, currentPrice,
+                RelativeStrengthIndex.DEFAULT_PERIOD).getLastResult();
+    }
+
+    @Benchmark
+    public double simpleMovingAveragePriceSeries() {
+        return SimpleMovingAverage.create(priceSeries, currentPrice,
+                SimpleMovingAverage.DEFAULT_PERIOD).getLastResult();
+    }
+
+    @Benchmark
+    public double exponentialMovingAveragePriceSeries() {
+        return ExponentialMovingAverage.create(priceSeries, currentPrice,
+                ExponentialMovingAverage.DEFAULT_PERIOD).getLastResult();
+    }
+
+    @Benchmark
+    public double relativeStrengthIndexPriceSeries() {
+        return RelativeStrengthIndex.create(priceSeries, currentPrice,
+                RelativeStrengthIndex.DEFAULT_PERIOD).getLastResult();
+    }
+
+    @Benchmark
+    public IndicatorEvaluator indicatorEvaluator() {
+        return IndicatorEvaluator.create(priceSeries, currentPrice, INDICATOR_SPECS);
+    }
+
+    @Benchmark
+    public PriceSeries priceSeries() {
+        return PriceSeries.from(historicalQuotes);
+    }
+}
@@ -0,0 +1,94 @@
+package ax.stardust.skvirrel.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import ax.stardust.skvirrel.stock.indicator.ExponentialMovingAverage;
+import ax.stardust.skvirrel.stock.indicator.IndicatorEvaluator;
+import ax.stardust.skvirrel.stock.indicator.IndicatorSpec;
+import ax.stardust.skvirrel.stock.indicator.PriceSeries;
+import ax.stardust.skvirrel.stock.indicator.RelativeStrengthIndex;
+import ax.stardust.skvirrel.stock.indicator.SimpleMovingAverage;
+import yahoofinance.Stock;
+import yahoofinance.histquotes.HistoricalQuote;
+import yahoofinance.histquotes.Interval;
+import yahoofinance.quotes.stock.StockQuote;
+
+/**
+ * Benchmark of the calculations made when an indicator cache is refreshed from history, from the
+ * historical quotes of a stock to calculated SMA50, EMA50 and RSI14. A fake stock is used which
+ * never goes to the network.
+ * <br/>
+ * This is not the whole refresh made by ParcelableStock.from, the parts needing android are left
+ * out: merging fetched quotes with the stored price history, building the indicator state and
+ * refreshing from a valid indicator state without any history.
+ */
+@State(Scope.Benchmark)
+public class IndicatorRefreshBenchmark {
+
+    private static final String TICKER = "SKVR";
+
+    private static final IndicatorSpec SMA_50_CLOSE = IndicatorSpec.sma(SimpleMovingAverage.DEFAULT_PERIOD);
+    private static final IndicatorSpec EMA_50_CLOSE = IndicatorSpec.ema(ExponentialMovingAverage.DEFAULT_PERIOD);
+    private static final IndicatorSpec RSI_14_CLOSE = IndicatorSpec.rsi(RelativeStrengthIndex.DEFAULT_PERIOD);
+    private static final List<IndicatorSpec> INDICATOR_SPECS = Arrays.asList(SMA_50_CLOSE, EMA_50_CLOSE, RSI_14_CLOSE);
+
+    @Param({SyntheticQuotes.DAYS_200, SyntheticQuotes.YEARS_2, SyntheticQuotes.YEARS_10})
+    private int tradingDays;
+
+    private Stock stock;
+
+    @Setup
+    public void setUp() {
+        List<HistoricalQuote> historicalQuotes = SyntheticQuotes.create(tradingDays);
+
+        StockQuote quote = new StockQuote(TICKER);
+        quote.setPrice(SyntheticQuotes.currentPrice(historicalQuotes));
+
+        stock = new FakeStock(historicalQuotes);
+        stock.setQuote(quote);
+    }
+
+    @Benchmark
+    public double[] refreshFromHistory() throws IOException {
+        BigDecimal currentPrice = stock.getQuote().getPrice();
+
+        // synthetic quotes are all complete, as the ones of a stored price history
+        PriceSeries priceSeries = PriceSeries.from(stock.getHistory(Calendar.getInstance(), Interval.DAILY));
+        IndicatorEvaluator indicatorEvaluator = IndicatorEvaluator.create(priceSeries,
+                currentPrice, INDICATOR_SPECS);
+
+        return new double[]{
+                indicatorEvaluator.getResult(SMA_50_CLOSE),
+                indicatorEvaluator.getResult(EMA_50_CLOSE),
+                indicatorEvaluator.getResult(RSI_14_CLOSE)
+        };
+    }
+
+    /**
+     * Stock returning the same historical quotes on every request
+     */
+    private static class FakeStock extends Stock {
+
+        private final List<HistoricalQuote> historicalQuotes;
+
+        FakeStock(List<HistoricalQuote> historicalQuotes) {
+            super(TICKER);
+            this.historicalQuotes = historicalQuotes;
+        }
+
+        @Override
+        public List<HistoricalQuote> getHistory(Calendar from, Interval interval) {
+            return historicalQuotes;
+        }
+    }
+}
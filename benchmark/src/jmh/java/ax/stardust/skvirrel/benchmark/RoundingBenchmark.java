@@ -0,0 +1,50 @@
+package ax.stardust.skvirrel.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import ax.stardust.skvirrel.util.SkvirrelMath;
+
+/**
+ * Benchmarks of the rounding done within the indicator calculations. Rounding of the app goes
+ * through {@link SkvirrelMath}, it's compared against rounding with big decimal as it was done
+ * before.
+ */
+@State(Scope.Benchmark)
+public class RoundingBenchmark {
+
+    private static final int NUMBER_OF_VALUES = 1024;
+
+    private final double[] values = new double[NUMBER_OF_VALUES];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20210312L);
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            values[i] = random.nextDouble() * 500;
+        }
+    }
+
+    @Benchmark
+    public double skvirrelMath() {
+        double sum = 0;
+        for (double value : values) {
+            sum += SkvirrelMath.round(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double bigDecimal() {
+        double sum = 0;
+        for (double value : values) {
+            sum += new BigDecimal(value).setScale(SkvirrelMath.TWO_DECIMALS, BigDecimal.ROUND_HALF_UP).doubleValue();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,83 @@
+package ax.stardust.skvirrel.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+
+import yahoofinance.histquotes.HistoricalQuote;
+
+/**
+ * Synthetic daily historical quotes for the benchmarks. Prices are a random walk with a fixed
+ * seed, so every benchmark run works on exactly the same quotes.
+ */
+final class SyntheticQuotes {
+
+    /** Trading days of the default history fetched by the app */
+    static final String DAYS_200 = "200";
+
+    /** Trading days of two years */
+    static final String YEARS_2 = "504";
+
+    /** Trading days of ten years */
+    static final String YEARS_10 = "2520";
+
+    private static final long SEED = 20210312L;
+
+    private SyntheticQuotes() {
+    }
+
+    /**
+     * Creates given number of daily historical quotes, with date, opening, highest, lowest and
+     * closing price set
+     *
+     * @param tradingDays number of quotes to create
+     * @return created historical quotes, oldest quote first
+     */
+    static List<HistoricalQuote> create(int tradingDays) {
+        Random random = new Random(SEED);
+        List<HistoricalQuote> historicalQuotes = new ArrayList<>(tradingDays);
+        Calendar date = new GregorianCalendar(2010, Calendar.JANUARY, 4);
+        double close = 35.0;
+
+        for (int i = 0; i < tradingDays; i++) {
+            double open = close;
+            close = Math.max(1.0, close * (1 + random.nextGaussian() * 0.02));
+
+            HistoricalQuote historicalQuote = new HistoricalQuote();
+            historicalQuote.setDate((Calendar) date.clone());
+            historicalQuote.setOpen(toPrice(open));
+            historicalQuote.setHigh(toPrice(Math.max(open, close) * (1 + random.nextDouble() * 0.01)));
+            historicalQuote.setLow(toPrice(Math.min(open, close) * (1 - random.nextDouble() * 0.01)));
+            historicalQuote.setClose(toPrice(close));
+            historicalQuotes.add(historicalQuote);
+
+            // skip weekends
+            do {
+                date.add(Calendar.DATE, 1);
+            } while (date.get(Calendar.DAY_OF_WEEK) == Calendar.SATURDAY
+                    || date.get(Calendar.DAY_OF_WEEK) == Calendar.SUNDAY);
+        }
+
+        return historicalQuotes;
+    }
+
+    /**
+     * Creates a current price close to, but not the same as, the last closing price of given
+     * historical quotes. Current price is therefore always taken into account by the indicators
+     *
+     * @param historicalQuotes historical quotes to create current price for
+     * @return current price
+     */
+    static BigDecimal currentPrice(List<HistoricalQuote> historicalQuotes) {
+        BigDecimal lastClose = historicalQuotes.get(historicalQuotes.size() - 1).getClose();
+        return lastClose.multiply(BigDecimal.valueOf(1.0125)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal toPrice(double price) {
+        return BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP);
+    }
+}
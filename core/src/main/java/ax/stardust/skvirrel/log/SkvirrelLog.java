@@ -0,0 +1,81 @@
+package ax.stardust.skvirrel.log;
+
+/**
+ * Logging of the core, which runs on android as well as on a plain jvm. All logging is delegated
+ * to the logger set, on android a logger backed by timber is set upon application creation.
+ * <br/>
+ * Just like timber without any trees planted nothing is logged until a logger is set.
+ */
+public final class SkvirrelLog {
+
+    /**
+     * Logger to which the logging is delegated, messages are formatted in the same way as with
+     * {@link String#format(String, Object...)}
+     */
+    public interface Logger {
+
+        /**
+         * Logs a warning message
+         *
+         * @param message message to log
+         * @param args    arguments of message
+         */
+        void w(String message, Object... args);
+
+        /**
+         * Logs an error message with an exception
+         *
+         * @param t       exception to log
+         * @param message message to log
+         * @param args    arguments of message
+         */
+        void e(Throwable t, String message, Object... args);
+    }
+
+    private static final Logger NO_LOGGER = new Logger() {
+        @Override
+        public void w(String message, Object... args) {
+            // nothing to do
+        }
+
+        @Override
+        public void e(Throwable t, String message, Object... args) {
+            // nothing to do
+        }
+    };
+
+    private static volatile Logger logger = NO_LOGGER;
+
+    private SkvirrelLog() {
+    }
+
+    /**
+     * To set the logger to delegate logging to, if null is given nothing will be logged
+     *
+     * @param logger logger to set
+     */
+    public static void setLogger(Logger logger) {
+        SkvirrelLog.logger = logger != null ? logger : NO_LOGGER;
+    }
+
+    /**
+     * Logs a warning message
+     *
+     * @param message message to log
+     * @param args    arguments of message
+     */
+    public static void w(String message, Object... args) {
+        logger.w(message, args);
+    }
+
+    /**
+     * Logs an error message with an exception
+     *
+     * @param t       exception to log
+     * @param message message to log
+     * @param args    arguments of message
+     */
+    public static void e(Throwable t, String message, Object... args) {
+        logger.e(t, message, args);
+    }
+}
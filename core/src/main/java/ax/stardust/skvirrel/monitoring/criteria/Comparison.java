@@ -0,0 +1,25 @@
+package ax.stardust.skvirrel.monitoring.criteria;
+
+/**
+ * Comparison of a value against the limit of a monitoring, the limit itself is included in both
+ * above and below.
+ */
+public enum Comparison {
+    ABOVE,
+    BELOW;
+
+    /**
+     * To find out if given value is on the right side of given limit
+     *
+     * @param value value to compare
+     * @param limit limit to compare against
+     * @return true if value is above or below limit, depending on this comparison, else false
+     */
+    public boolean isMet(double value, double limit) {
+        if (BELOW.equals(this)) {
+            return value <= limit;
+        }
+
+        return value >= limit;
+    }
+}
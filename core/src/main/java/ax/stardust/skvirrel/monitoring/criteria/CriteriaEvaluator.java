@@ -0,0 +1,68 @@
+package ax.stardust.skvirrel.monitoring.criteria;
+
+import ax.stardust.skvirrel.exception.MonitoringException;
+import ax.stardust.skvirrel.log.SkvirrelLog;
+import ax.stardust.skvirrel.stock.QuoteSnapshot;
+
+/**
+ * Evaluation of the criteria of the different monitorings against a quote snapshot, if true is
+ * returned the criteria are met and the monitoring should be handled for notification.
+ */
+public final class CriteriaEvaluator {
+
+    private CriteriaEvaluator() {
+    }
+
+    /**
+     * To check price criteria against given quote snapshot
+     *
+     * @param quoteSnapshot quote snapshot to check
+     * @param comparison    comparison of the criteria
+     * @param price         price to compare against
+     * @return true if criteria are met else false
+     */
+    public static boolean checkPrice(QuoteSnapshot quoteSnapshot, Comparison comparison, double price) {
+        double stockPrice = quoteSnapshot.getPrice();
+
+        if (QuoteSnapshot.UNSET == stockPrice) {
+            MonitoringException exception = new MonitoringException("Price of quote snapshot is unset");
+            SkvirrelLog.e(exception, "Unable to check monitoring criteria");
+            throw exception;
+        }
+
+        return comparison.isMet(stockPrice, price);
+    }
+
+    /**
+     * To check PE ratio criteria against given quote snapshot, criteria are never met if the PE
+     * ratio is missing
+     *
+     * @param quoteSnapshot quote snapshot to check
+     * @param comparison    comparison of the criteria
+     * @param pe            PE ratio to compare against
+     * @return true if criteria are met else false
+     */
+    public static boolean checkPe(QuoteSnapshot quoteSnapshot, Comparison comparison, int pe) {
+        double stockPe = quoteSnapshot.getPe();
+
+        if (QuoteSnapshot.UNSET == stockPe) {
+            SkvirrelLog.w("PE ratio of quote snapshot with ticker: %s is missing, probably it's missing from " +
+                    "yahoo finance as well. Monitoring criteria therefore not met.", quoteSnapshot.getTicker());
+            return false;
+        }
+
+        return comparison.isMet(stockPe, pe);
+    }
+
+    /**
+     * To check RSI criteria against given quote snapshot
+     *
+     * @param quoteSnapshot quote snapshot to check
+     * @param comparison    comparison of the criteria
+     * @param rsi           RSI to compare against
+     * @return true if criteria are met else false
+     */
+    public static boolean checkRsi(QuoteSnapshot quoteSnapshot, Comparison comparison, int rsi) {
+        return comparison.isMet(quoteSnapshot.getRsi14Close(), rsi);
+    }
+}
@@ -0,0 +1,53 @@
+package ax.stardust.skvirrel.stock;
+
+/**
+ * Snapshot of a stock quote along with calculated indicators, the data monitoring criteria are
+ * checked against. Values which are missing are {@link #UNSET}.
+ */
+public interface QuoteSnapshot {
+
+    /** Value of data that is missing */
+    double UNSET = -1.1;
+
+    /**
+     * To get ticker of the stock
+     *
+     * @return ticker
+     */
+    String getTicker();
+
+    /**
+     * To get current price of the stock
+     *
+     * @return current price
+     */
+    double getPrice();
+
+    /**
+     * To get PE ratio of the stock
+     *
+     * @return PE ratio
+     */
+    double getPe();
+
+    /**
+     * To get simple moving average of the last 50 closing prices
+     *
+     * @return SMA50
+     */
+    double getSma50Close();
+
+    /**
+     * To get exponential moving average of the last 50 closing prices
+     *
+     * @return EMA50
+     */
+    double getEma50Close();
+
+    /**
+     * To get relative strength index of the last 14 closing prices
+     *
+     * @return RSI14
+     */
+    double getRsi14Close();
+}
@@ -1,14 +1,12 @@
 package ax.stardust.skvirrel.stock.indicator;
 
-import androidx.annotation.NonNull;
-
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Locale;
 
 import ax.stardust.skvirrel.exception.IndicatorException;
-import ax.stardust.skvirrel.util.SkvirrelUtils;
-import timber.log.Timber;
+import ax.stardust.skvirrel.log.SkvirrelLog;
+import ax.stardust.skvirrel.util.SkvirrelMath;
 import yahoofinance.histquotes.HistoricalQuote;
 
 /**
@@ -26,6 +24,9 @@ import yahoofinance.histquotes.HistoricalQuote;
  * The calculated EMA values will be stored in an array on position corresponding to what quote the
  * EMA is for. In the previously example EMA values will be stored in array position 13 - 19, leaving
  * the preceding positions in the array left as 0.0.
+ * <br/>
+ * Only the last EMA is calculated upon creation, the arrays of all SMA and EMA values are built
+ * first when they're requested by {@link #getResults()} or {@link #toString()}.
  */
 public class ExponentialMovingAverage implements Indicator {
 
@@ -33,17 +34,18 @@ public class ExponentialMovingAverage implements Indicator {
     public static final int DEFAULT_PERIOD = 50;
 
     // data needed for the calculations to be made
-    private List<HistoricalQuote> historicalQuotes;
+    private PriceSeries priceSeries;
     private final int period;
 
     // calculated date
     private double smoothingConstant;
 
+    private double lastEma;
     private double[] sma;
-    private double[] ema;
+    private double[] ema = null;
 
-    private ExponentialMovingAverage(List<HistoricalQuote> historicalQuotes, BigDecimal currentPrice, int period) {
-        this.historicalQuotes = historicalQuotes;
+    private ExponentialMovingAverage(PriceSeries priceSeries, BigDecimal currentPrice, int period) {
+        this.priceSeries = priceSeries;
         this.period = period;
 
         // sanity check before anything else
@@ -66,50 +68,89 @@ public class ExponentialMovingAverage implements Indicator {
      */
     public static ExponentialMovingAverage create(List<HistoricalQuote> historicalQuotes,
                                                   BigDecimal currentPrice, int period) {
-        return new ExponentialMovingAverage(historicalQuotes, currentPrice, period);
+        return new ExponentialMovingAverage(PriceSeries.from(historicalQuotes), currentPrice, period);
+    }
+
+    /**
+     * Creates a new instance of exponential moving average
+     *
+     * @param priceSeries  price series for EMA calculation
+     * @param currentPrice current price
+     * @param period       period of EMA
+     * @return created instance of exponential moving average
+     */
+    public static ExponentialMovingAverage create(PriceSeries priceSeries, BigDecimal currentPrice, int period) {
+        return new ExponentialMovingAverage(priceSeries, currentPrice, period);
     }
 
     @Override
     public void validate() {
-        if (historicalQuotes == null || period >= historicalQuotes.size()) {
+        if (priceSeries == null || period >= priceSeries.size()) {
             IndicatorException exception = new IndicatorException("Given quotes are null or given "
                     + "period is greater than or equal to number of given quotes");
-            Timber.e(exception, "Unable to create exponential moving average");
+            SkvirrelLog.e(exception, "Unable to create exponential moving average");
             throw exception;
         }
     }
 
     @Override
     public void handleCurrentPrice(BigDecimal currentPrice) {
-        historicalQuotes = IndicatorUtils.handleCurrentPrice(historicalQuotes, currentPrice);
+        priceSeries = IndicatorUtils.handleCurrentPrice(priceSeries, currentPrice);
     }
 
     @Override
     public void calculate() {
-        // make some initializations
-        initializeArrays(historicalQuotes.size());
-
         // calculate smoothing constant for EMA
         smoothingConstant = 2d / (period + 1);
 
+        // only the last EMA is of interest, the first EMA is the SMA of the first period
+        double sum = 0.0;
+        for (int i = 0; i < period; i++) {
+            sum += priceSeries.getClose(i);
+        }
+        double ema = SkvirrelMath.round(sum / period);
+
+        // calculate EMA =
+        // (closing price - EMA(of previous day)) * smoothing constant + EMA(of previous day)
+        for (int i = period; i < priceSeries.size(); i++) {
+            ema = SkvirrelMath.round((priceSeries.getClose(i) - ema) * smoothingConstant + ema);
+        }
+
+        lastEma = ema;
+    }
+
+    private void calculateResults() {
+        // make some initializations
+        initializeArrays(priceSeries.size());
+
+        // sum of the closing prices within the current SMA window, the first window is summed up
+        // from scratch and after that the window is rolled forward one quote at the time
+        double windowSum = 0.0;
+
         // go through the values and make tha calculations
-        for (int i = (period - 1); i < historicalQuotes.size(); i++) {
-            // get slices of the quotes and calculate SMA values based on the slices and period
-            List<HistoricalQuote> slice = historicalQuotes.subList(0, i + 1);
-            double[] smaResults = SimpleMovingAverage.create(slice, period).getResults();
+        for (int i = 0; i < priceSeries.size(); i++) {
+            double close = priceSeries.getClose(i);
+
+            // fill up the first SMA window, after that roll it forward by adding the newest
+            // closing price and removing the oldest one
+            if (i < period) {
+                windowSum += close;
+            } else {
+                windowSum += close - priceSeries.getClose(i - period);
+            }
 
-            sma[i] = smaResults[smaResults.length - 1];
+            if (i >= (period - 1)) {
+                sma[i] = SkvirrelMath.round(windowSum / period);
+            }
 
             // set first EMA as SMA if index is period - 1 day, at this point enough data exists
             // to start the EMA calculations
             if (i == (period - 1)) {
                 ema[i] = sma[i];
             } else if (i > (period - 1)) { // at this point EMA calculations is to be done for closing prices
-                double close = historicalQuotes.get(i).getClose().doubleValue();
-
                 // calculate EMA =
                 // (closing price - EMA(of previous day)) * smoothing constant + EMA(of previous day)
-                ema[i] = SkvirrelUtils.round((close - ema[i - 1]) * smoothingConstant + ema[i - 1]);
+                ema[i] = SkvirrelMath.round((close - ema[i - 1]) * smoothingConstant + ema[i - 1]);
             }
         }
     }
@@ -121,23 +162,27 @@ public class ExponentialMovingAverage implements Indicator {
 
     @Override
     public double getLastResult() {
-        return ema[ema.length - 1];
+        return lastEma;
     }
 
     @Override
     public double[] getResults() {
+        // calculate all SMA and EMA values first when they're needed
+        if (ema == null) {
+            calculateResults();
+        }
         return ema;
     }
 
-    @NonNull
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
+        double[] ema = getResults();
 
-        for (int i = 0; i < historicalQuotes.size(); i++) {
+        for (int i = 0; i < priceSeries.size(); i++) {
             String row = String.format(Locale.ENGLISH, "close: %02.2f sma: %02.2f "
                             + "smoothing constant: %02.2f ema: %02.2f\n",
-                    historicalQuotes.get(i).getClose().doubleValue(), sma[i], smoothingConstant, ema[i]);
+                    priceSeries.getClose(i), sma[i], smoothingConstant, ema[i]);
             sb.append(row);
         }
 
@@ -0,0 +1,167 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.log.SkvirrelLog;
+import ax.stardust.skvirrel.util.SkvirrelMath;
+
+/**
+ * Batch of indicators for one price series where any number of periods can be calculated for
+ * SMA, EMA and RSI. Current price is handled and the price series is gone through once upon
+ * creation, building up prefix sums of closing prices, gains and losses. After that:
+ * <br/>
+ * - SMA for any period is calculated in constant time from the prefix sums of closing prices.
+ * <br/>
+ * - EMA for any period gets its initial SMA from the prefix sums, followed by one pass over the
+ * remaining closing prices.
+ * <br/>
+ * - RSI for any period gets its initial average gain/loss from the prefix sums of gains/losses,
+ * followed by one pass over the remaining changes.
+ * <br/>
+ * Only the last value of each indicator is calculated. As sums are calculated as differences of
+ * prefix sums they can differ from sums added up in order in the last bits, which can make a
+ * value exactly on a rounding boundary round differently compared to {@link SimpleMovingAverage},
+ * {@link ExponentialMovingAverage} and {@link RelativeStrengthIndex}.
+ */
+public class IndicatorBatch {
+
+    // data needed for the calculations to be made
+    private PriceSeries priceSeries;
+
+    // calculated data, prefix sum at index i is the sum of values at index 0 to i - 1
+    private double[] closePrefixSums;
+    private double[] gain;
+    private double[] loss;
+    private double[] gainPrefixSums;
+    private double[] lossPrefixSums;
+
+    private IndicatorBatch(PriceSeries priceSeries, BigDecimal currentPrice) {
+        this.priceSeries = priceSeries;
+
+        // sanity check before anything else
+        validate();
+
+        // add current price to the price series if needed
+        this.priceSeries = IndicatorUtils.handleCurrentPrice(priceSeries, currentPrice);
+
+        // do the calculation up instantiation
+        calculate();
+    }
+
+    /**
+     * Creates a new instance of indicator batch
+     *
+     * @param priceSeries  price series for the calculations
+     * @param currentPrice current price
+     * @return created instance of indicator batch
+     */
+    public static IndicatorBatch create(PriceSeries priceSeries, BigDecimal currentPrice) {
+        return new IndicatorBatch(priceSeries, currentPrice);
+    }
+
+    private void validate() {
+        if (priceSeries == null || priceSeries.size() == 0) {
+            IndicatorException exception = new IndicatorException("Given price series is null or empty");
+            SkvirrelLog.e(exception, "Unable to create indicator batch");
+            throw exception;
+        }
+    }
+
+    private void calculate() {
+        int size = priceSeries.size();
+
+        closePrefixSums = new double[size + 1];
+        gain = new double[size];
+        loss = new double[size];
+        gainPrefixSums = new double[size + 1];
+        lossPrefixSums = new double[size + 1];
+
+        for (int i = 0; i < size; i++) {
+            double close = priceSeries.getClose(i);
+
+            // if change is positive it's a gain else loss, there's no change for the first quote
+            if (i > 0) {
+                double change = close - priceSeries.getClose(i - 1);
+                if (change > 0) {
+                    gain[i] = change;
+                } else if (change < 0) {
+                    loss[i] = -change;
+                }
+            }
+
+            closePrefixSums[i + 1] = closePrefixSums[i] + close;
+            gainPrefixSums[i + 1] = gainPrefixSums[i] + gain[i];
+            lossPrefixSums[i + 1] = lossPrefixSums[i] + loss[i];
+        }
+    }
+
+    /**
+     * To get the last SMA for given period
+     *
+     * @param period period of SMA
+     * @return last SMA
+     */
+    public double getSma(int period) {
+        validatePeriod(period, priceSeries.size(), "SMA");
+
+        int size = priceSeries.size();
+        return SkvirrelMath.round((closePrefixSums[size] - closePrefixSums[size - period]) / period);
+    }
+
+    /**
+     * To get the last EMA for given period
+     *
+     * @param period period of EMA
+     * @return last EMA
+     */
+    public double getEma(int period) {
+        validatePeriod(period, priceSeries.size() - 1, "EMA");
+
+        double smoothingConstant = 2d / (period + 1);
+
+        // first EMA is the SMA of the first period
+        double ema = SkvirrelMath.round(closePrefixSums[period] / period);
+
+        // EMA = (closing price - EMA(of previous day)) * smoothing constant + EMA(of previous day)
+        for (int i = period; i < priceSeries.size(); i++) {
+            ema = SkvirrelMath.round((priceSeries.getClose(i) - ema) * smoothingConstant + ema);
+        }
+
+        return ema;
+    }
+
+    /**
+     * To get the last RSI for given period
+     *
+     * @param period period of RSI
+     * @return last RSI
+     */
+    public double getRsi(int period) {
+        validatePeriod(period, priceSeries.size() - 1, "RSI");
+
+        // the first avg gain/loss will be a simple SMA = sum of price changes / period
+        double avgGain = gainPrefixSums[period] / period;
+        double avgLoss = lossPrefixSums[period] / period;
+
+        // after that averages are calculated using SMMA
+        for (int i = period + 1; i < priceSeries.size(); i++) {
+            avgGain = (avgGain * (period - 1) + gain[i]) / period;
+            avgLoss = (avgLoss * (period - 1) + loss[i]) / period;
+        }
+
+        // RSI = 100 - 100 / (1 + RS), where RS = average gain / average loss
+        return SkvirrelMath.round(100 - (100 / (1 + avgGain / avgLoss)));
+    }
+
+    private static void validatePeriod(int period, int maxPeriod, String indicator) {
+        if (period <= 0 || period > maxPeriod) {
+            IndicatorException exception = new IndicatorException(String.format(Locale.ENGLISH,
+                    "Given period %d is less than or equal to 0 or too great for number of "
+                            + "given quotes", period));
+            SkvirrelLog.e(exception, "Unable to calculate %s", indicator);
+            throw exception;
+        }
+    }
+}
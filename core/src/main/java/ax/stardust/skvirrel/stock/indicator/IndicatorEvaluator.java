@@ -0,0 +1,201 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.log.SkvirrelLog;
+import ax.stardust.skvirrel.util.SkvirrelMath;
+
+/**
+ * Evaluator calculating several indicators at once. Instead of every indicator validating data,
+ * handling current price and going through the whole price series on their own, the evaluator
+ * does it once and calculates all requested indicators within the same traversal of the prices.
+ * <br/>
+ * Only the last value of each indicator is calculated, these are the same values as given by
+ * {@link Indicator#getLastResult()} of {@link SimpleMovingAverage}, {@link ExponentialMovingAverage}
+ * and {@link RelativeStrengthIndex} for the same price series, current price and period.
+ */
+public class IndicatorEvaluator {
+
+    // data needed for the calculations to be made
+    private PriceSeries priceSeries;
+    private final List<IndicatorSpec> indicatorSpecs;
+
+    // calculated data, one result per indicator specification
+    private double[] results;
+
+    private IndicatorEvaluator(PriceSeries priceSeries, BigDecimal currentPrice, List<IndicatorSpec> indicatorSpecs) {
+        this.priceSeries = priceSeries;
+        this.indicatorSpecs = indicatorSpecs;
+
+        // sanity check before anything else
+        validate();
+
+        // add current price to the price series if needed
+        this.priceSeries = IndicatorUtils.handleCurrentPrice(priceSeries, currentPrice);
+
+        // do the calculation up instantiation
+        calculate();
+    }
+
+    /**
+     * Creates a new instance of indicator evaluator and calculates given indicators
+     *
+     * @param priceSeries    price series for the calculations
+     * @param currentPrice   current price
+     * @param indicatorSpecs specifications of the indicators to calculate
+     * @return created instance of indicator evaluator
+     */
+    public static IndicatorEvaluator create(PriceSeries priceSeries, BigDecimal currentPrice,
+                                            List<IndicatorSpec> indicatorSpecs) {
+        return new IndicatorEvaluator(priceSeries, currentPrice, indicatorSpecs);
+    }
+
+    private void validate() {
+        if (priceSeries == null || indicatorSpecs == null || indicatorSpecs.isEmpty()) {
+            IndicatorException exception = new IndicatorException("Given price series is null or "
+                    + "no indicators are given");
+            SkvirrelLog.e(exception, "Unable to create indicator evaluator");
+            throw exception;
+        }
+
+        for (IndicatorSpec indicatorSpec : indicatorSpecs) {
+            // SMA can be calculated with as many quotes as the period, EMA and RSI needs one more
+            int requiredSize = indicatorSpec.getType() == IndicatorSpec.Type.SMA
+                    ? indicatorSpec.getPeriod() : indicatorSpec.getPeriod() + 1;
+
+            if (indicatorSpec.getPeriod() <= 0 || requiredSize > priceSeries.size()) {
+                IndicatorException exception = new IndicatorException(String.format(Locale.ENGLISH,
+                        "Period of %s is less than or equal to 0 or too great for number of "
+                                + "given quotes", indicatorSpec));
+                SkvirrelLog.e(exception, "Unable to create indicator evaluator");
+                throw exception;
+            }
+        }
+    }
+
+    private void calculate() {
+        int size = priceSeries.size();
+        int numberOfIndicators = indicatorSpecs.size();
+
+        results = new double[numberOfIndicators];
+
+        // intermediate data per indicator, only the arrays needed by the indicators are initialized
+        int[] periods = new int[numberOfIndicators];
+        IndicatorSpec.Type[] types = new IndicatorSpec.Type[numberOfIndicators];
+        double[] sums = new double[numberOfIndicators];
+        double[] smoothingConstants = new double[numberOfIndicators];
+        double[][] gains = new double[numberOfIndicators][];
+        double[][] losses = new double[numberOfIndicators][];
+        double[] avgGains = new double[numberOfIndicators];
+        double[] avgLosses = new double[numberOfIndicators];
+
+        for (int j = 0; j < numberOfIndicators; j++) {
+            types[j] = indicatorSpecs.get(j).getType();
+            periods[j] = indicatorSpecs.get(j).getPeriod();
+
+            if (types[j] == IndicatorSpec.Type.EMA) {
+                smoothingConstants[j] = 2d / (periods[j] + 1);
+            } else if (types[j] == IndicatorSpec.Type.RSI) {
+                gains[j] = new double[periods[j]];
+                losses[j] = new double[periods[j]];
+            }
+        }
+
+        // go through the prices once and update all the indicators for each price
+        for (int i = 0; i < size; i++) {
+            double close = priceSeries.getClose(i);
+
+            // change between closing prices, shared by all RSI calculations
+            double gain = 0.0;
+            double loss = 0.0;
+            if (i > 0) {
+                double change = close - priceSeries.getClose(i - 1);
+                if (change > 0) {
+                    gain = change;
+                } else if (change < 0) {
+                    loss = -change;
+                }
+            }
+
+            for (int j = 0; j < numberOfIndicators; j++) {
+                int period = periods[j];
+
+                switch (types[j]) {
+                    case SMA:
+                        // only the last window is of interest, sum it up in order
+                        if (i >= size - period) {
+                            sums[j] += close;
+                        }
+                        if (i == size - 1) {
+                            results[j] = SkvirrelMath.round(sums[j] / period);
+                        }
+                        break;
+                    case EMA:
+                        // first EMA is the SMA of the first period, after that
+                        // (closing price - EMA(of previous day)) * smoothing constant + EMA(of previous day)
+                        if (i < period) {
+                            sums[j] += close;
+                        }
+                        if (i == period - 1) {
+                            results[j] = SkvirrelMath.round(sums[j] / period);
+                        } else if (i > period - 1) {
+                            results[j] = SkvirrelMath.round((close - results[j]) * smoothingConstants[j] + results[j]);
+                        }
+                        break;
+                    case RSI:
+                        // the first avg gain/loss will be a simple SMA = sum of price changes / period,
+                        // after that averages are calculated using SMMA
+                        if (i < period) {
+                            gains[j][i] = gain;
+                            losses[j][i] = loss;
+                        } else if (i == period) {
+                            avgGains[j] = Arrays.stream(gains[j]).sum() / period;
+                            avgLosses[j] = Arrays.stream(losses[j]).sum() / period;
+                        } else {
+                            avgGains[j] = (avgGains[j] * (period - 1) + gain) / period;
+                            avgLosses[j] = (avgLosses[j] * (period - 1) + loss) / period;
+                        }
+
+                        // RSI = 100 - 100 / (1 + RS), where RS = average gain / average loss
+                        if (i == size - 1) {
+                            results[j] = SkvirrelMath.round(100 - (100 / (1 + avgGains[j] / avgLosses[j])));
+                        }
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * To get the result of given indicator, the indicator must be one of the ones given when this
+     * evaluator was created
+     *
+     * @param indicatorSpec specification of indicator to get result for
+     * @return last value of the indicator
+     */
+    public double getResult(IndicatorSpec indicatorSpec) {
+        int index = indicatorSpecs.indexOf(indicatorSpec);
+        if (index < 0) {
+            IndicatorException exception = new IndicatorException(String.format(Locale.ENGLISH,
+                    "No result exists for %s", indicatorSpec));
+            SkvirrelLog.e(exception, "Unable to get result of indicator");
+            throw exception;
+        }
+        return results[index];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < indicatorSpecs.size(); i++) {
+            sb.append(String.format(Locale.ENGLISH, "%s: %02.2f\n", indicatorSpecs.get(i), results[i]));
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,109 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Specification of an indicator to be calculated by the {@link IndicatorEvaluator}, tells what
+ * type of indicator to calculate and with which period.
+ */
+public class IndicatorSpec {
+
+    /**
+     * Types of indicators supported by the evaluator
+     */
+    public enum Type {
+        SMA,
+        EMA,
+        RSI
+    }
+
+    private final Type type;
+    private final int period;
+
+    private IndicatorSpec(Type type, int period) {
+        this.type = type;
+        this.period = period;
+    }
+
+    /**
+     * Creates a specification for given type of indicator
+     *
+     * @param type   type of indicator
+     * @param period period of indicator
+     * @return created indicator specification
+     */
+    public static IndicatorSpec of(Type type, int period) {
+        return new IndicatorSpec(type, period);
+    }
+
+    /**
+     * Creates a specification for a simple moving average
+     *
+     * @param period period of SMA
+     * @return created indicator specification
+     */
+    public static IndicatorSpec sma(int period) {
+        return new IndicatorSpec(Type.SMA, period);
+    }
+
+    /**
+     * Creates a specification for an exponential moving average
+     *
+     * @param period period of EMA
+     * @return created indicator specification
+     */
+    public static IndicatorSpec ema(int period) {
+        return new IndicatorSpec(Type.EMA, period);
+    }
+
+    /**
+     * Creates a specification for a relative strength index
+     *
+     * @param period period of RSI
+     * @return created indicator specification
+     */
+    public static IndicatorSpec rsi(int period) {
+        return new IndicatorSpec(Type.RSI, period);
+    }
+
+    /**
+     * To get type of the indicator
+     *
+     * @return type of indicator
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * To get period of the indicator
+     *
+     * @return period of indicator
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IndicatorSpec that = (IndicatorSpec) o;
+        return period == that.period && type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, period);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH, "%s%d", type, period);
+    }
+}
@@ -0,0 +1,87 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.List;
+
+import ax.stardust.skvirrel.util.SkvirrelMath;
+import yahoofinance.histquotes.HistoricalQuote;
+
+/**
+ * Class containing static indicator related utility methods.
+ */
+public class IndicatorUtils {
+
+    /**
+     * Current price handling. If current price isn't null and current price is not the same as last
+     * quotes closing price, then current price is taken into account in that way that it is added
+     * as the last historical quote in the returned list and the first element is removed. This is
+     * to ensure that the returned list has the same length as the given one. If given price is null
+     * or equal to last historical quotes closing price, then given list is simply returned.
+     * <br/>
+     * The returned list is an unmodifiable view of given list, given list is neither copied nor
+     * modified.
+     *
+     * @param historicalQuotes historical quotes
+     * @param currentPrice     current price
+     * @return historical quotes with current price if needed
+     */
+    public static List<HistoricalQuote> handleCurrentPrice(List<HistoricalQuote> historicalQuotes,
+                                                           BigDecimal currentPrice) {
+        if (currentPrice != null) {
+            HistoricalQuote lastQuote = historicalQuotes.get(historicalQuotes.size() - 1);
+
+            // find out if last quotes closing price equals given price, if they're unequal then we
+            // use the current price as last quotes price
+            if (!SkvirrelMath.equals(lastQuote.getClose().doubleValue(), currentPrice.doubleValue())) {
+                // create a new historical quote with current price
+                HistoricalQuote quoteWithCurrentPrice = new HistoricalQuote();
+                quoteWithCurrentPrice.setClose(currentPrice);
+
+                // view of historical quotes excluding the oldest(first) element and with the quote
+                // with current price as the last element
+                List<HistoricalQuote> quotes = historicalQuotes;
+                return new AbstractList<HistoricalQuote>() {
+                    @Override
+                    public HistoricalQuote get(int index) {
+                        return index == size() - 1 ? quoteWithCurrentPrice : quotes.get(index + 1);
+                    }
+
+                    @Override
+                    public int size() {
+                        return quotes.size();
+                    }
+                };
+            }
+        }
+
+        return historicalQuotes;
+    }
+
+    /**
+     * Current price handling for price series. If current price isn't null and current price is
+     * not the same as last quotes closing price, then a new price series is returned where current
+     * price is added as closing price of the last quote and the first quote is left out. The returned
+     * price series has the same length as the given one. If given price is null or equal to last
+     * quotes closing price, then given price series is simply returned.
+     * <br/>
+     * The returned price series is a view of the given one, see {@link PriceSeries#shift(double)}.
+     *
+     * @param priceSeries  price series
+     * @param currentPrice current price
+     * @return price series with current price if needed
+     */
+    public static PriceSeries handleCurrentPrice(PriceSeries priceSeries, BigDecimal currentPrice) {
+        if (currentPrice != null) {
+            double lastClose = priceSeries.getClose(priceSeries.size() - 1);
+
+            // find out if last quotes closing price equals given price, if they're unequal then we
+            // use the current price as last quotes price
+            if (!SkvirrelMath.equals(lastClose, currentPrice.doubleValue())) {
+                return priceSeries.shift(currentPrice.doubleValue());
+            }
+        }
+
+        return priceSeries;
+    }
+}
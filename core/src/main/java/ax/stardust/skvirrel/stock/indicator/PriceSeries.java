@@ -0,0 +1,222 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.List;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.log.SkvirrelLog;
+import yahoofinance.histquotes.HistoricalQuote;
+
+/**
+ * Compact columnar representation of historical quotes, prices are stored in parallel primitive
+ * arrays where each index corresponds to one quote. Historical quotes are converted once into a
+ * price series and the indicators then works directly on the primitive arrays, no boxing or
+ * big decimal arithmetic is needed within the calculations.
+ * <br/>
+ * Prices missing in the historical quotes are stored as {@link Double#NaN} and missing dates as
+ * {@link #MISSING_EPOCH_DAY}.
+ * <br/>
+ * A price series is immutable. Taking current price into account doesn't copy or modify the
+ * arrays, instead a view of the same arrays is created, starting one quote later and with a live
+ * tail holding the current price as the newest quote. Hence one price series can safely be shared
+ * between indicators, even if they're calculated concurrently.
+ */
+public class PriceSeries {
+
+    /** A value indicating that the date of a quote is missing */
+    public static final long MISSING_EPOCH_DAY = Long.MIN_VALUE;
+
+    private final double[] close;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final long[] epochDay;
+
+    // view of the arrays, the first quote of the series and number of quotes in it
+    private final int offset;
+    private final int size;
+
+    // closing price of the newest quote if it isn't in the arrays, like the current price
+    private final boolean hasTail;
+    private final double tailClose;
+
+    PriceSeries(double[] close, double[] open, double[] high, double[] low, long[] epochDay) {
+        this(close, open, high, low, epochDay, 0, close.length, false, Double.NaN);
+    }
+
+    private PriceSeries(double[] close, double[] open, double[] high, double[] low, long[] epochDay,
+                        int offset, int size, boolean hasTail, double tailClose) {
+        this.close = close;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.epochDay = epochDay;
+        this.offset = offset;
+        this.size = size;
+        this.hasTail = hasTail;
+        this.tailClose = tailClose;
+    }
+
+    /**
+     * Creates a new price series from given historical quotes
+     *
+     * @param historicalQuotes historical quotes to create price series from
+     * @return created price series
+     */
+    public static PriceSeries from(List<HistoricalQuote> historicalQuotes) {
+        if (historicalQuotes == null) {
+            IndicatorException exception = new IndicatorException("Given quotes are null");
+            SkvirrelLog.e(exception, "Unable to create price series");
+            throw exception;
+        }
+
+        int size = historicalQuotes.size();
+        double[] close = new double[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        long[] epochDay = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            HistoricalQuote historicalQuote = historicalQuotes.get(i);
+            close[i] = toDouble(historicalQuote.getClose());
+            open[i] = toDouble(historicalQuote.getOpen());
+            high[i] = toDouble(historicalQuote.getHigh());
+            low[i] = toDouble(historicalQuote.getLow());
+            epochDay[i] = toEpochDay(historicalQuote.getDate());
+        }
+
+        return new PriceSeries(close, open, high, low, epochDay);
+    }
+
+    /**
+     * To get the number of quotes within this price series
+     *
+     * @return number of quotes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * To get closing price of quote at given index
+     *
+     * @param index index of quote
+     * @return closing price
+     */
+    public double getClose(int index) {
+        if (isTail(index)) {
+            return tailClose;
+        }
+        return close[offset + index];
+    }
+
+    /**
+     * To get opening price of quote at given index
+     *
+     * @param index index of quote
+     * @return opening price
+     */
+    public double getOpen(int index) {
+        if (isTail(index)) {
+            return Double.NaN;
+        }
+        return open[offset + index];
+    }
+
+    /**
+     * To get highest price of quote at given index
+     *
+     * @param index index of quote
+     * @return highest price
+     */
+    public double getHigh(int index) {
+        if (isTail(index)) {
+            return Double.NaN;
+        }
+        return high[offset + index];
+    }
+
+    /**
+     * To get lowest price of quote at given index
+     *
+     * @param index index of quote
+     * @return lowest price
+     */
+    public double getLow(int index) {
+        if (isTail(index)) {
+            return Double.NaN;
+        }
+        return low[offset + index];
+    }
+
+    /**
+     * To get date of quote at given index as days since epoch
+     *
+     * @param index index of quote
+     * @return date as epoch day
+     */
+    public long getEpochDay(int index) {
+        if (isTail(index)) {
+            return MISSING_EPOCH_DAY;
+        }
+        return epochDay[offset + index];
+    }
+
+    /**
+     * Creates a new price series where the oldest quote is left out and a quote with given closing
+     * price is added as the newest one. The new series will have the same length as this one.
+     * <br/>
+     * Nothing is copied, the new series is a view of the same arrays. Only the opening, highest and
+     * lowest prices and the date are missing for the newest quote.
+     *
+     * @param closingPrice closing price of the newest quote
+     * @return shifted price series
+     */
+    PriceSeries shift(double closingPrice) {
+        // a series can only have one live tail, so if this one already has one the prices are
+        // copied into new arrays before shifting, this is never the case for current price handling
+        if (hasTail) {
+            return copy().shift(closingPrice);
+        }
+        return new PriceSeries(close, open, high, low, epochDay, offset + 1, size, true, closingPrice);
+    }
+
+    private boolean isTail(int index) {
+        return hasTail && index == size - 1;
+    }
+
+    private PriceSeries copy() {
+        double[] copiedClose = new double[size];
+        double[] copiedOpen = new double[size];
+        double[] copiedHigh = new double[size];
+        double[] copiedLow = new double[size];
+        long[] copiedEpochDay = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            copiedClose[i] = getClose(i);
+            copiedOpen[i] = getOpen(i);
+            copiedHigh[i] = getHigh(i);
+            copiedLow[i] = getLow(i);
+            copiedEpochDay[i] = getEpochDay(i);
+        }
+
+        return new PriceSeries(copiedClose, copiedOpen, copiedHigh, copiedLow, copiedEpochDay);
+    }
+
+    private static double toDouble(BigDecimal bigDecimal) {
+        return bigDecimal != null ? bigDecimal.doubleValue() : Double.NaN;
+    }
+
+    private static long toEpochDay(Calendar calendar) {
+        if (calendar == null) {
+            return MISSING_EPOCH_DAY;
+        }
+
+        // date in the time zone of the calendar, not in the time zone of the device
+        return LocalDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH)).toEpochDay();
+    }
+}
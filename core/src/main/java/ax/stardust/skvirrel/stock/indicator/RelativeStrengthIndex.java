@@ -1,15 +1,13 @@
 package ax.stardust.skvirrel.stock.indicator;
 
-import androidx.annotation.NonNull;
-
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 
 import ax.stardust.skvirrel.exception.IndicatorException;
-import ax.stardust.skvirrel.util.SkvirrelUtils;
-import timber.log.Timber;
+import ax.stardust.skvirrel.log.SkvirrelLog;
+import ax.stardust.skvirrel.util.SkvirrelMath;
 import yahoofinance.histquotes.HistoricalQuote;
 
 /**
@@ -22,6 +20,9 @@ import yahoofinance.histquotes.HistoricalQuote;
  * After n number of changes averages of gains/losses will be calculated using SMMA, using
  * SMA as it's initial input. After the first SMMA has been calculated RS and it's corresponding
  * RSI can be calculated as well.
+ * <br/>
+ * Only the last RSI is calculated upon creation, the arrays of all intermediate values and RSI
+ * values are built first when they're requested by {@link #getResults()} or {@link #toString()}.
  */
 public class RelativeStrengthIndex implements Indicator {
 
@@ -29,20 +30,21 @@ public class RelativeStrengthIndex implements Indicator {
     public static final int DEFAULT_PERIOD = 14;
 
     // data needed for the calculations to be made
-    private List<HistoricalQuote> historicalQuotes;
+    private PriceSeries priceSeries;
     private final int period;
 
     // calculated data
+    private double lastRsi;
     private double[] change;
     private double[] gain;
     private double[] loss;
     private double[] avgGain;
     private double[] avgLoss;
     private double[] rs;
-    private double[] rsi;
+    private double[] rsi = null;
 
-    private RelativeStrengthIndex(List<HistoricalQuote> historicalQuotes, BigDecimal currentPrice, int period) {
-        this.historicalQuotes = historicalQuotes;
+    private RelativeStrengthIndex(PriceSeries priceSeries, BigDecimal currentPrice, int period) {
+        this.priceSeries = priceSeries;
         this.period = period;
 
         // sanity check before anything else
@@ -65,40 +67,82 @@ public class RelativeStrengthIndex implements Indicator {
      */
     public static RelativeStrengthIndex create(List<HistoricalQuote> historicalQuotes,
                                                BigDecimal currentPrice, int period) {
-        return new RelativeStrengthIndex(historicalQuotes, currentPrice, period);
+        return new RelativeStrengthIndex(PriceSeries.from(historicalQuotes), currentPrice, period);
+    }
+
+    /**
+     * Creates a new instance of relative strength index
+     *
+     * @param priceSeries  price series for RSI calculation
+     * @param currentPrice current price
+     * @param period       period of RSI
+     * @return created instance of relative strength index
+     */
+    public static RelativeStrengthIndex create(PriceSeries priceSeries, BigDecimal currentPrice, int period) {
+        return new RelativeStrengthIndex(priceSeries, currentPrice, period);
     }
 
     @Override
     public void validate() {
-        if (historicalQuotes == null || period >= historicalQuotes.size()) {
+        if (priceSeries == null || period >= priceSeries.size()) {
             IndicatorException exception = new IndicatorException("Given quotes are null or given "
                     + "period is greater than or equal to number of given quotes");
-            Timber.e(exception, "Unable to create relative strength index");
+            SkvirrelLog.e(exception, "Unable to create relative strength index");
             throw exception;
         }
     }
 
     @Override
     public void handleCurrentPrice(BigDecimal currentPrice) {
-        historicalQuotes = IndicatorUtils.handleCurrentPrice(historicalQuotes, currentPrice);
+        priceSeries = IndicatorUtils.handleCurrentPrice(priceSeries, currentPrice);
     }
 
     @Override
     public void calculate() {
+        // only the last RSI is of interest, gains/losses are only needed for the first averages
+        double[] firstGains = new double[period];
+        double[] firstLosses = new double[period];
+        double avgGain = 0.0;
+        double avgLoss = 0.0;
+
+        for (int i = 1; i < priceSeries.size(); i++) {
+            // calculate the change between closing prices, if change is positive it's a gain else loss
+            double change = priceSeries.getClose(i) - priceSeries.getClose(i - 1);
+            double gain = change > 0 ? change : 0.0;
+            double loss = change < 0 ? Math.abs(change) : 0.0;
+
+            if (i < period) {
+                firstGains[i] = gain;
+                firstLosses[i] = loss;
+            } else if (i == period) {
+                // the first avg gain/loss will be a simple SMA = sum of price changes / period
+                avgGain = Arrays.stream(firstGains).sum() / period;
+                avgLoss = Arrays.stream(firstLosses).sum() / period;
+            } else { // calculate SMMA
+                avgGain = (avgGain * (period - 1) + gain) / period;
+                avgLoss = (avgLoss * (period - 1) + loss) / period;
+            }
+        }
+
+        // calculate RS = average gain / average loss and RSI = 100 - 100 / (1 + RS)
+        lastRsi = SkvirrelMath.round(100 - (100 / (1 + avgGain / avgLoss)));
+    }
+
+    private void calculateResults() {
         // make some initializations
-        initializeArrays(historicalQuotes.size());
+        initializeArrays(priceSeries.size());
 
         // go through the values and make the calculations
-        for (int i = 0; i < historicalQuotes.size(); i++) {
+        for (int i = 0; i < priceSeries.size(); i++) {
             // do nothing on the first iteration
             if (i > 0) {
-                // one historical quote per day, and since we want to calculate the difference between
-                // close of two days we need get quotes for "yesterday" and "today"
-                HistoricalQuote quoteYesterday = historicalQuotes.get(i - 1);
-                HistoricalQuote quoteToday = historicalQuotes.get(i);
+                // one quote per day, and since we want to calculate the difference between
+                // close of two days we need get closing prices for "yesterday" and "today"
+                double closeYesterday = priceSeries.getClose(i - 1);
+                double closeToday = priceSeries.getClose(i);
 
                 // calculate the change between closing prices
-                change[i] = quoteToday.getClose().subtract(quoteYesterday.getClose()).doubleValue();
+                change[i] = closeToday - closeYesterday;
 
                 // if change is positive it's a gain else loss
                 if (change[i] > 0) {
@@ -111,8 +155,8 @@ public class RelativeStrengthIndex implements Indicator {
             // calculate SMA
             if (i == period) {
                 // the first avg gain/loss will be a simple SMA = sum of price changes / period
-                avgGain[i] = Arrays.stream(Arrays.copyOfRange(gain, 0, period)).sum() / period;
-                avgLoss[i] = Arrays.stream(Arrays.copyOfRange(loss, 0, period)).sum() / period;
+                avgGain[i] = Arrays.stream(gain, 0, period).sum() / period;
+                avgLoss[i] = Arrays.stream(loss, 0, period).sum() / period;
             } else if (i >= period) { // calculate SMMA
                 // ((avg * (period - 1)) - change) / period
                 avgGain[i] = (avgGain[i - 1] * (period - 1) + gain[i]) / period;
@@ -125,7 +169,7 @@ public class RelativeStrengthIndex implements Indicator {
                 rs[i] = avgGain[i] / avgLoss[i];
 
                 // calculate RSI = 100 - 100 / (1 + RS)
-                rsi[i] = SkvirrelUtils.round(100 - (100 / (1 + rs[i])));
+                rsi[i] = SkvirrelMath.round(100 - (100 / (1 + rs[i])));
             }
         }
     }
@@ -142,23 +186,27 @@ public class RelativeStrengthIndex implements Indicator {
 
     @Override
     public double getLastResult() {
-        return rsi[rsi.length - 1];
+        return lastRsi;
     }
 
     @Override
     public double[] getResults() {
+        // calculate all RSI values first when they're needed
+        if (rsi == null) {
+            calculateResults();
+        }
         return rsi;
     }
 
-    @NonNull
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
+        double[] rsi = getResults();
 
-        for (int i = 0; i < historicalQuotes.size(); i++) {
+        for (int i = 0; i < priceSeries.size(); i++) {
             String row = String.format(Locale.ENGLISH, "close: %02.2f change: %02.2f gain: "
                             + "%02.2f loss: %02.2f avgGain: %02.2f avgLoss: %02.2f rs: %02.2f rsi "
-                            + "%02.2f\n", historicalQuotes.get(i).getClose().doubleValue(), change[i],
+                            + "%02.2f\n", priceSeries.getClose(i), change[i],
                     gain[i], loss[i], avgGain[i], avgLoss[i], rs[i], rsi[i]);
             sb.append(row);
         }
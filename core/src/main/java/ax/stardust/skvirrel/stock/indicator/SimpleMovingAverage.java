@@ -1,14 +1,12 @@
 package ax.stardust.skvirrel.stock.indicator;
 
-import androidx.annotation.NonNull;
-
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Locale;
 
 import ax.stardust.skvirrel.exception.IndicatorException;
-import ax.stardust.skvirrel.util.SkvirrelUtils;
-import timber.log.Timber;
+import ax.stardust.skvirrel.log.SkvirrelLog;
+import ax.stardust.skvirrel.util.SkvirrelMath;
 import yahoofinance.histquotes.HistoricalQuote;
 
 /**
@@ -21,6 +19,9 @@ import yahoofinance.histquotes.HistoricalQuote;
  * The calculated SMA values will be stored in an array on position corresponding to what quote the
  * SMA is for. In the previously example SMA values will be stored in array position 13 - 19,
  * leaving the preceding positions in the array left as 0.0.
+ * <br/>
+ * Only the last SMA is calculated upon creation, the array of all SMA values is built first when
+ * it's requested by {@link #getResults()} or {@link #toString()}.
  */
 public class SimpleMovingAverage implements Indicator {
 
@@ -28,14 +29,15 @@ public class SimpleMovingAverage implements Indicator {
     public static final int DEFAULT_PERIOD = 50;
 
     // data needed for the calculations to be made
-    private List<HistoricalQuote> historicalQuotes;
+    private PriceSeries priceSeries;
     private final int period;
 
     // calculated data
-    private double[] sma;
+    private double lastSma;
+    private double[] sma = null;
 
-    private SimpleMovingAverage(List<HistoricalQuote> historicalQuotes, BigDecimal currentPrice, int period) {
-        this.historicalQuotes = historicalQuotes;
+    private SimpleMovingAverage(PriceSeries priceSeries, BigDecimal currentPrice, int period) {
+        this.priceSeries = priceSeries;
         this.period = period;
 
         // sanity check before anything else
@@ -58,7 +60,19 @@ public class SimpleMovingAverage implements Indicator {
      */
     public static SimpleMovingAverage create(List<HistoricalQuote> historicalQuotes,
                                              BigDecimal currentPrice, int period) {
-        return new SimpleMovingAverage(historicalQuotes, currentPrice, period);
+        return new SimpleMovingAverage(PriceSeries.from(historicalQuotes), currentPrice, period);
+    }
+
+    /**
+     * Creates a new instance of simple moving average
+     *
+     * @param priceSeries  price series for SMA calculation
+     * @param currentPrice current price
+     * @param period       period of SMA
+     * @return created instance of simple moving average
+     */
+    public static SimpleMovingAverage create(PriceSeries priceSeries, BigDecimal currentPrice, int period) {
+        return new SimpleMovingAverage(priceSeries, currentPrice, period);
     }
 
     /**
@@ -69,54 +83,81 @@ public class SimpleMovingAverage implements Indicator {
      * @return created instance of simple moving average
      */
     public static SimpleMovingAverage create(List<HistoricalQuote> historicalQuotes, int period) {
-        return new SimpleMovingAverage(historicalQuotes, null, period);
+        return new SimpleMovingAverage(PriceSeries.from(historicalQuotes), null, period);
+    }
+
+    /**
+     * Creates a new instance of simple moving average
+     *
+     * @param priceSeries price series for SMA calculation
+     * @param period      period of SMA
+     * @return created instance of simple moving average
+     */
+    public static SimpleMovingAverage create(PriceSeries priceSeries, int period) {
+        return new SimpleMovingAverage(priceSeries, null, period);
     }
 
     @Override
     public void validate() {
-        if (historicalQuotes == null || period > historicalQuotes.size()) {
+        if (priceSeries == null || period > priceSeries.size()) {
             IndicatorException exception = new IndicatorException("Given quotes are null or period "
                     + "is greater than number of given quotes");
-            Timber.e(exception, "Unable to create simple moving average");
+            SkvirrelLog.e(exception, "Unable to create simple moving average");
             throw exception;
         }
     }
 
     @Override
     public void handleCurrentPrice(BigDecimal currentPrice) {
-        historicalQuotes = IndicatorUtils.handleCurrentPrice(historicalQuotes, currentPrice);
+        priceSeries = IndicatorUtils.handleCurrentPrice(priceSeries, currentPrice);
     }
 
     @Override
     public void calculate() {
+        // only the last SMA is of interest, sum up the closing prices of the last period
+        double sum = 0.0;
+        for (int i = priceSeries.size() - period; i < priceSeries.size(); i++) {
+            sum += priceSeries.getClose(i);
+        }
+
+        lastSma = SkvirrelMath.round(sum / period);
+    }
+
+    private void calculateResults() {
         // initialize the sma array
-        sma = new double[historicalQuotes.size()];
+        sma = new double[priceSeries.size()];
 
-        int maxSmaCalculations = historicalQuotes.size() - period;
+        int maxSmaCalculations = priceSeries.size() - period;
 
         for (int i = 0; i <= maxSmaCalculations; i++) {
-            sma[(i + period - 1)] = SkvirrelUtils.round(historicalQuotes.subList(i, (i + period)).stream()
-                    .map(quote -> quote.getClose().doubleValue())
-                    .reduce(0.0, Double::sum) / period);
+            double sum = 0.0;
+            for (int j = i; j < (i + period); j++) {
+                sum += priceSeries.getClose(j);
+            }
+
+            sma[(i + period - 1)] = SkvirrelMath.round(sum / period);
         }
     }
 
     @Override
     public double getLastResult() {
-        return sma[sma.length - 1];
+        return lastSma;
     }
 
     @Override
     public double[] getResults() {
+        // calculate all SMA values first when they're needed
+        if (sma == null) {
+            calculateResults();
+        }
         return sma;
     }
 
-    @NonNull
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
 
-        for (double d : sma) {
+        for (double d : getResults()) {
             sb.append(String.format(Locale.ENGLISH, "sma: %02.2f\n", d));
         }
 
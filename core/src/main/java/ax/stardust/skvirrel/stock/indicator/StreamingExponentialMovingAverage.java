@@ -0,0 +1,79 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.log.SkvirrelLog;
+import ax.stardust.skvirrel.util.SkvirrelMath;
+
+/**
+ * Streaming version of the exponential moving average. Closing prices are summed up until
+ * enough of them exists for the first SMA, which is used as the initial EMA. After that only the
+ * previously calculated EMA is needed to calculate the next one.
+ * <br/>
+ * Given the same closing prices the values are the same as the ones calculated by
+ * {@link ExponentialMovingAverage}.
+ */
+public class StreamingExponentialMovingAverage implements StreamingIndicator {
+
+    // data needed for the calculations to be made
+    private final int period;
+    private final double smoothingConstant;
+
+    // calculated data
+    private long count;
+    private double seedSum;
+    private double ema;
+
+    /**
+     * Creates a new instance of streaming exponential moving average
+     *
+     * @param period period of EMA
+     */
+    public StreamingExponentialMovingAverage(int period) {
+        if (period <= 0) {
+            IndicatorException exception = new IndicatorException("Given period is less than or equal to 0");
+            SkvirrelLog.e(exception, "Unable to create streaming exponential moving average");
+            throw exception;
+        }
+
+        this.period = period;
+        this.smoothingConstant = 2d / (period + 1);
+    }
+
+    @Override
+    public void update(double close) {
+        ema = calculate(close);
+        count++;
+
+        // closing prices are only needed for the first SMA
+        if (count < period) {
+            seedSum += close;
+        }
+    }
+
+    @Override
+    public double peek(double price) {
+        return calculate(price);
+    }
+
+    @Override
+    public double getValue() {
+        return ema;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+
+    private double calculate(double close) {
+        if (count + 1 < period) {
+            return 0.0;
+        } else if (count + 1 == period) { // first EMA is the SMA of the period
+            return SkvirrelMath.round((seedSum + close) / period);
+        }
+
+        // calculate EMA =
+        // (closing price - EMA(of previous day)) * smoothing constant + EMA(of previous day)
+        return SkvirrelMath.round((close - ema) * smoothingConstant + ema);
+    }
+}
@@ -0,0 +1,42 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+/**
+ * Interface for a technical stock indicator which is calculated incrementally. Instead of being
+ * calculated from a full set of historical quotes a streaming indicator holds the state needed
+ * to update itself with one closing price at the time, each update is done in constant time.
+ */
+public interface StreamingIndicator {
+
+    /**
+     * Updates the indicator with given closing price, the price is handled as the closing price
+     * of the quote following the last handled one
+     *
+     * @param close closing price to update indicator with
+     */
+    void update(double close);
+
+    /**
+     * To get the value the indicator would have if it was updated with given price. The state of
+     * the indicator is left untouched, typical use case is to take current price into account
+     *
+     * @param price price to peek value for
+     * @return value of the indicator if it was updated with given price, 0.0 if not enough
+     * data exists to calculate it
+     */
+    double peek(double price);
+
+    /**
+     * To get the current value of the indicator
+     *
+     * @return current value of the indicator, 0.0 if not enough data has been handled to
+     * calculate it
+     */
+    double getValue();
+
+    /**
+     * To find out if enough closing prices has been handled to calculate a value for the indicator
+     *
+     * @return true if indicator has a value else false
+     */
+    boolean isReady();
+}
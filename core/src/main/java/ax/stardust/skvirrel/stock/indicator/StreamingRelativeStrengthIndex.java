@@ -0,0 +1,108 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.log.SkvirrelLog;
+import ax.stardust.skvirrel.util.SkvirrelMath;
+
+/**
+ * Streaming version of the relative strength index. Only the previous closing price and the
+ * average gain/loss (Wilder's smoothing) are needed to calculate the next RSI.
+ * <br/>
+ * Averages are calculated in the same way as in {@link RelativeStrengthIndex}, gains/losses of
+ * the first changes are summed up and the first averages are a simple SMA of those. After that
+ * averages are calculated using SMMA.
+ */
+public class StreamingRelativeStrengthIndex implements StreamingIndicator {
+
+    // data needed for the calculations to be made
+    private final int period;
+
+    // calculated data
+    private long count;
+    private double previousClose;
+    private double gainSum;
+    private double lossSum;
+    private double avgGain;
+    private double avgLoss;
+    private double rsi;
+
+    /**
+     * Creates a new instance of streaming relative strength index
+     *
+     * @param period period of RSI
+     */
+    public StreamingRelativeStrengthIndex(int period) {
+        if (period <= 0) {
+            IndicatorException exception = new IndicatorException("Given period is less than or equal to 0");
+            SkvirrelLog.e(exception, "Unable to create streaming relative strength index");
+            throw exception;
+        }
+
+        this.period = period;
+    }
+
+    @Override
+    public void update(double close) {
+        // do nothing but store the close on the first update, no change exists yet
+        if (count > 0) {
+            double change = close - previousClose;
+            double gain = Math.max(change, 0.0);
+            double loss = Math.max(-change, 0.0);
+
+            if (count < period) {
+                gainSum += gain;
+                lossSum += loss;
+            } else if (count == period) {
+                // the first avg gain/loss will be a simple SMA = sum of price changes / period
+                avgGain = gainSum / period;
+                avgLoss = lossSum / period;
+            } else { // calculate SMMA
+                avgGain = smoothedAverage(avgGain, gain);
+                avgLoss = smoothedAverage(avgLoss, loss);
+            }
+
+            if (count >= period) {
+                rsi = calculateRsi(avgGain, avgLoss);
+            }
+        }
+
+        previousClose = close;
+        count++;
+    }
+
+    @Override
+    public double peek(double price) {
+        if (count < period) {
+            return 0.0;
+        } else if (count == period) {
+            return calculateRsi(gainSum / period, lossSum / period);
+        }
+
+        double change = price - previousClose;
+        return calculateRsi(smoothedAverage(avgGain, Math.max(change, 0.0)),
+                smoothedAverage(avgLoss, Math.max(-change, 0.0)));
+    }
+
+    @Override
+    public double getValue() {
+        return rsi;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count > period;
+    }
+
+    private double smoothedAverage(double average, double value) {
+        // ((avg * (period - 1)) + value) / period
+        return (average * (period - 1) + value) / period;
+    }
+
+    private double calculateRsi(double averageGain, double averageLoss) {
+        // calculate RS = average gain / average loss
+        double rs = averageGain / averageLoss;
+
+        // calculate RSI = 100 - 100 / (1 + RS)
+        return SkvirrelMath.round(100 - (100 / (1 + rs)));
+    }
+}
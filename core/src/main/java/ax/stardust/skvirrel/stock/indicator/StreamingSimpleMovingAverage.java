@@ -0,0 +1,78 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.log.SkvirrelLog;
+import ax.stardust.skvirrel.util.SkvirrelMath;
+
+/**
+ * Streaming version of the simple moving average. The closing prices within the current period
+ * are kept in a ring buffer, on update the oldest price is replaced by the newest one.
+ * <br/>
+ * The prices are summed up from the oldest to the newest one when a value is calculated, in the
+ * same order as {@link SimpleMovingAverage} sums them. A running sum would be cheaper but can be
+ * off by floating point errors, enough to round the average differently.
+ */
+public class StreamingSimpleMovingAverage implements StreamingIndicator {
+
+    // data needed for the calculations to be made
+    private final int period;
+    private final double[] window;
+
+    // calculated data
+    private int next;
+    private long count;
+
+    /**
+     * Creates a new instance of streaming simple moving average
+     *
+     * @param period period of SMA
+     */
+    public StreamingSimpleMovingAverage(int period) {
+        if (period <= 0) {
+            IndicatorException exception = new IndicatorException("Given period is less than or equal to 0");
+            SkvirrelLog.e(exception, "Unable to create streaming simple moving average");
+            throw exception;
+        }
+
+        this.period = period;
+        this.window = new double[period];
+    }
+
+    @Override
+    public void update(double close) {
+        window[next] = close;
+        next = (next + 1) % period;
+        count++;
+    }
+
+    @Override
+    public double peek(double price) {
+        if (count + 1 < period) {
+            return 0.0;
+        }
+        // oldest price is left out for given price
+        return SkvirrelMath.round((sumWindow(1) + price) / period);
+    }
+
+    @Override
+    public double getValue() {
+        return isReady() ? SkvirrelMath.round(sumWindow(0) / period) : 0.0;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+
+    /**
+     * Sums up prices of the window from the oldest to the newest one, skipping given number of
+     * the oldest prices
+     */
+    private double sumWindow(int skip) {
+        double sum = 0.0;
+        for (int i = skip; i < period; i++) {
+            sum += window[(next + i) % period];
+        }
+        return sum;
+    }
+}
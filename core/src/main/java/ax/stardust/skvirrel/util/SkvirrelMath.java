@@ -0,0 +1,120 @@
+package ax.stardust.skvirrel.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Class containing static numeric utility methods used in calculations which are run frequently,
+ * like the ones of the indicators.
+ * <br/>
+ * Rounding gives exactly the same results as rounding with {@link BigDecimal#ROUND_HALF_UP}, but
+ * without creating any objects. The double to round is split up into its binary mantissa and
+ * exponent, which makes it possible to scale it by a power of ten and find out the exact
+ * remainder using long arithmetic only.
+ */
+public class SkvirrelMath {
+
+    public static final int TWO_DECIMALS = 2;
+    public static final int THREE_DECIMALS = 3;
+
+    // powers of five and ten for the number of decimals supported without big decimal
+    private static final long[] POWERS_OF_FIVE = {1L, 5L, 25L, 125L, 625L};
+    private static final double[] POWERS_OF_TEN = {1d, 10d, 100d, 1000d, 10000d};
+
+    // values from this limit and above are rounded using big decimal, below the limit the scaled
+    // value is guaranteed to fit in 52 bits and can be represented exactly by a double
+    private static final double LIMIT = 1e11;
+
+    // bits of a double
+    private static final int SIGNIFICAND_BITS = 52;
+    private static final long SIGNIFICAND_MASK = (1L << SIGNIFICAND_BITS) - 1;
+    private static final int EXPONENT_BIAS = 1075;
+
+    /**
+     * Rounds given double value to a double with two decimals. Rounding is done in the same way
+     * as {@link BigDecimal#ROUND_HALF_UP}
+     *
+     * @param value value to round
+     * @return rounded double
+     */
+    public static double round(double value) {
+        return round(value, TWO_DECIMALS);
+    }
+
+    /**
+     * Rounds given double value to a double with given number of decimals. Rounding is done in
+     * the same way as {@link BigDecimal#ROUND_HALF_UP}.
+     * <br/>
+     * Note. as with big decimal a {@link NumberFormatException} is thrown if given value is
+     * infinite or NaN
+     *
+     * @param value            value to round
+     * @param numberOfDecimals number of decimals for round
+     * @return rounded double
+     */
+    public static double round(double value, int numberOfDecimals) {
+        double absoluteValue = Math.abs(value);
+
+        // let big decimal handle what can't be handled exactly with longs, including NaN and infinity
+        if (!(absoluteValue < LIMIT) || numberOfDecimals < 0 || numberOfDecimals >= POWERS_OF_FIVE.length) {
+            return roundBigDecimal(value, numberOfDecimals);
+        }
+
+        // value = significand * 2^exponent, where significand is an integer of at most 53 bits
+        long bits = Double.doubleToRawLongBits(absoluteValue);
+        int biasedExponent = (int) (bits >>> SIGNIFICAND_BITS);
+        long significand = bits & SIGNIFICAND_MASK;
+        if (biasedExponent != 0) {
+            significand |= 1L << SIGNIFICAND_BITS;
+        } else {
+            biasedExponent = 1; // subnormal value
+        }
+
+        // value * 10^decimals = significand * 5^decimals * 2^(exponent + decimals), where
+        // significand * 5^decimals is less than 2^63
+        long scaled = significand * POWERS_OF_FIVE[numberOfDecimals];
+
+        // the limit guarantees that the value isn't an integer already, separate integer part and
+        // the remainder after it and round up if remainder is at least one half
+        int rightShift = EXPONENT_BIAS - biasedExponent - numberOfDecimals;
+        long rounded = 0; // less than one half if everything is shifted out
+        if (rightShift < Long.SIZE) {
+            long integerPart = scaled >>> rightShift;
+            long remainder = scaled - (integerPart << rightShift);
+            rounded = remainder >= (1L << (rightShift - 1)) ? integerPart + 1 : integerPart;
+        }
+
+        // rounded value is exact and dividing with an exact power of ten gives the nearest double,
+        // just as the conversion of big decimal. Zero is always positive, as with big decimal
+        if (rounded == 0) {
+            return 0.0;
+        }
+        double result = rounded / POWERS_OF_TEN[numberOfDecimals];
+        return value < 0 ? -result : result;
+    }
+
+    /**
+     * To find out if given values are numerically equal to each other, values are considered
+     * equal if they're equal when rounded to three decimals
+     *
+     * @param value1 double to compare
+     * @param value2 double to compare
+     * @return true if given values are numerically equal to each other, else false
+     */
+    public static boolean equals(double value1, double value2) {
+        return round(value1, THREE_DECIMALS) == round(value2, THREE_DECIMALS);
+    }
+
+    /**
+     * Rounds given double value using big decimal, for the values not supported by the allocation
+     * free rounding
+     *
+     * @param value            value to round
+     * @param numberOfDecimals number of decimals for round
+     * @return rounded double
+     */
+    static double roundBigDecimal(double value, int numberOfDecimals) {
+        BigDecimal bigDecimal = new BigDecimal(value);
+        bigDecimal = bigDecimal.setScale(numberOfDecimals, BigDecimal.ROUND_HALF_UP);
+        return bigDecimal.doubleValue();
+    }
+}
@@ -0,0 +1,107 @@
+package ax.stardust.skvirrel.monitoring.criteria;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import ax.stardust.skvirrel.exception.MonitoringException;
+import ax.stardust.skvirrel.stock.QuoteSnapshot;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class CriteriaEvaluatorTest {
+
+    @Test
+    public void testCheckPrice() {
+        QuoteSnapshot quoteSnapshot = new TestQuoteSnapshot(34.98, 10.6, 45.12);
+
+        assertTrue(CriteriaEvaluator.checkPrice(quoteSnapshot, Comparison.BELOW, 35));
+        assertTrue(CriteriaEvaluator.checkPrice(quoteSnapshot, Comparison.BELOW, 34.98));
+        assertFalse(CriteriaEvaluator.checkPrice(quoteSnapshot, Comparison.BELOW, 34.97));
+        assertTrue(CriteriaEvaluator.checkPrice(quoteSnapshot, Comparison.ABOVE, 34.98));
+        assertFalse(CriteriaEvaluator.checkPrice(quoteSnapshot, Comparison.ABOVE, 35));
+    }
+
+    @Test
+    public void testCheckPriceException() {
+        QuoteSnapshot quoteSnapshot = new TestQuoteSnapshot(QuoteSnapshot.UNSET, 10.6, 45.12);
+
+        try {
+            CriteriaEvaluator.checkPrice(quoteSnapshot, Comparison.BELOW, 35);
+            fail("Exception should have been thrown");
+        } catch (MonitoringException ignore) {
+            // exception is expected
+        }
+    }
+
+    @Test
+    public void testCheckPe() {
+        QuoteSnapshot quoteSnapshot = new TestQuoteSnapshot(34.98, 10.6, 45.12);
+
+        assertTrue(CriteriaEvaluator.checkPe(quoteSnapshot, Comparison.BELOW, 11));
+        assertFalse(CriteriaEvaluator.checkPe(quoteSnapshot, Comparison.BELOW, 10));
+        assertTrue(CriteriaEvaluator.checkPe(quoteSnapshot, Comparison.ABOVE, 10));
+        assertFalse(CriteriaEvaluator.checkPe(quoteSnapshot, Comparison.ABOVE, 11));
+
+        // criteria are never met if pe is missing
+        quoteSnapshot = new TestQuoteSnapshot(34.98, QuoteSnapshot.UNSET, 45.12);
+        assertFalse(CriteriaEvaluator.checkPe(quoteSnapshot, Comparison.BELOW, 11));
+        assertFalse(CriteriaEvaluator.checkPe(quoteSnapshot, Comparison.ABOVE, 1));
+    }
+
+    @Test
+    public void testCheckRsi() {
+        QuoteSnapshot quoteSnapshot = new TestQuoteSnapshot(34.98, 10.6, 45.12);
+
+        assertTrue(CriteriaEvaluator.checkRsi(quoteSnapshot, Comparison.BELOW, 46));
+        assertFalse(CriteriaEvaluator.checkRsi(quoteSnapshot, Comparison.BELOW, 45));
+        assertTrue(CriteriaEvaluator.checkRsi(quoteSnapshot, Comparison.ABOVE, 45));
+        assertFalse(CriteriaEvaluator.checkRsi(quoteSnapshot, Comparison.ABOVE, 46));
+    }
+
+    private static class TestQuoteSnapshot implements QuoteSnapshot {
+
+        private final double price;
+        private final double pe;
+        private final double rsi14Close;
+
+        TestQuoteSnapshot(double price, double pe, double rsi14Close) {
+            this.price = price;
+            this.pe = pe;
+            this.rsi14Close = rsi14Close;
+        }
+
+        @Override
+        public String getTicker() {
+            return "SKVR";
+        }
+
+        @Override
+        public double getPrice() {
+            return price;
+        }
+
+        @Override
+        public double getPe() {
+            return pe;
+        }
+
+        @Override
+        public double getSma50Close() {
+            return UNSET;
+        }
+
+        @Override
+        public double getEma50Close() {
+            return UNSET;
+        }
+
+        @Override
+        public double getRsi14Close() {
+            return rsi14Close;
+        }
+    }
+}
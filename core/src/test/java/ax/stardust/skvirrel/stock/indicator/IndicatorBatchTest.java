@@ -0,0 +1,111 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Random;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class IndicatorBatchTest {
+
+    // prefix sums may differ in the last bits, which can move a value on a rounding boundary one cent
+    private static final double ROUNDING_DELTA = 0.01 + 1e-9;
+
+    @Test
+    public void testCreate() {
+        PriceSeries priceSeries = PriceSeries.from(SkvirrelTestUtils.getMockedHistoricalQuotes());
+
+        IndicatorBatch indicatorBatch = IndicatorBatch.create(priceSeries, null);
+        assertEquals(35.38, indicatorBatch.getSma(14), SkvirrelTestUtils.DELTA);
+        assertEquals(35.37, indicatorBatch.getEma(14), SkvirrelTestUtils.DELTA);
+        assertEquals(56.72, indicatorBatch.getRsi(14), SkvirrelTestUtils.DELTA);
+
+        indicatorBatch = IndicatorBatch.create(priceSeries, BigDecimal.valueOf(35.89));
+        assertEquals(35.2, indicatorBatch.getSma(20), SkvirrelTestUtils.DELTA);
+        for (int period = 2; period < priceSeries.size(); period++) {
+            assertEquals(SimpleMovingAverage.create(priceSeries, BigDecimal.valueOf(35.89), period).getLastResult(),
+                    indicatorBatch.getSma(period), SkvirrelTestUtils.DELTA);
+            assertEquals(ExponentialMovingAverage.create(priceSeries, BigDecimal.valueOf(35.89), period).getLastResult(),
+                    indicatorBatch.getEma(period), SkvirrelTestUtils.DELTA);
+            assertEquals(RelativeStrengthIndex.create(priceSeries, BigDecimal.valueOf(35.89), period).getLastResult(),
+                    indicatorBatch.getRsi(period), SkvirrelTestUtils.DELTA);
+        }
+    }
+
+    @Test
+    public void testCreateSameAsIndicators() {
+        Random random = new Random(1337);
+
+        for (int n = 0; n < 200; n++) {
+            PriceSeries priceSeries = PriceSeries.from(SkvirrelTestUtils.getRandomHistoricalQuotes(random, 210 + random.nextInt(100)));
+            BigDecimal currentPrice = random.nextBoolean() ? null : BigDecimal.valueOf(2000 + random.nextInt(2000), 2);
+
+            IndicatorBatch indicatorBatch = IndicatorBatch.create(priceSeries, currentPrice);
+
+            for (int period : new int[]{20, 50, 200}) {
+                assertEquals(SimpleMovingAverage.create(priceSeries, currentPrice, period).getLastResult(),
+                        indicatorBatch.getSma(period), ROUNDING_DELTA);
+                assertEquals(ExponentialMovingAverage.create(priceSeries, currentPrice, period).getLastResult(),
+                        indicatorBatch.getEma(period), ROUNDING_DELTA);
+            }
+
+            for (int period : new int[]{7, 14, 21}) {
+                assertEquals(RelativeStrengthIndex.create(priceSeries, currentPrice, period).getLastResult(),
+                        indicatorBatch.getRsi(period), ROUNDING_DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void testCreateException() {
+        try {
+            IndicatorBatch.create(null, null);
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+
+        try {
+            IndicatorBatch.create(PriceSeries.from(new ArrayList<>()), null);
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+    }
+
+    @Test
+    public void testPeriodException() {
+        IndicatorBatch indicatorBatch = IndicatorBatch.create(
+                PriceSeries.from(SkvirrelTestUtils.getMockedHistoricalQuotes()), null);
+
+        try {
+            indicatorBatch.getSma(21);
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+
+        try {
+            indicatorBatch.getEma(20);
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+
+        try {
+            indicatorBatch.getRsi(0);
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class IndicatorEvaluatorTest {
+
+    private static final IndicatorSpec SMA_14 = IndicatorSpec.sma(14);
+    private static final IndicatorSpec SMA_20 = IndicatorSpec.sma(20);
+    private static final IndicatorSpec EMA_14 = IndicatorSpec.ema(14);
+    private static final IndicatorSpec RSI_14 = IndicatorSpec.rsi(14);
+
+    private static final List<IndicatorSpec> INDICATOR_SPECS = Arrays.asList(SMA_14, SMA_20, EMA_14, RSI_14);
+
+    @Test
+    public void testCreate() {
+        PriceSeries priceSeries = PriceSeries.from(SkvirrelTestUtils.getMockedHistoricalQuotes());
+
+        IndicatorEvaluator evaluator = IndicatorEvaluator.create(priceSeries, null, INDICATOR_SPECS);
+        assertEquals(35.38, evaluator.getResult(SMA_14), SkvirrelTestUtils.DELTA);
+        assertEquals(35.37, evaluator.getResult(EMA_14), SkvirrelTestUtils.DELTA);
+        assertEquals(56.72, evaluator.getResult(RSI_14), SkvirrelTestUtils.DELTA);
+
+        evaluator = IndicatorEvaluator.create(priceSeries, BigDecimal.valueOf(35.89), INDICATOR_SPECS);
+        assertEquals(35.2, evaluator.getResult(SMA_20), SkvirrelTestUtils.DELTA);
+        assertEquals(SimpleMovingAverage.create(priceSeries, BigDecimal.valueOf(35.89), 14).getLastResult(),
+                evaluator.getResult(IndicatorSpec.sma(14)), SkvirrelTestUtils.DELTA);
+        assertEquals(ExponentialMovingAverage.create(priceSeries, BigDecimal.valueOf(35.89), 14).getLastResult(),
+                evaluator.getResult(IndicatorSpec.ema(14)), SkvirrelTestUtils.DELTA);
+        assertEquals(RelativeStrengthIndex.create(priceSeries, BigDecimal.valueOf(35.89), 14).getLastResult(),
+                evaluator.getResult(IndicatorSpec.rsi(14)), SkvirrelTestUtils.DELTA);
+    }
+
+    @Test
+    public void testCreateSameAsIndicators() {
+        Random random = new Random(4711);
+
+        for (int n = 0; n < 500; n++) {
+            PriceSeries priceSeries = PriceSeries.from(SkvirrelTestUtils.getRandomHistoricalQuotes(random, 60 + random.nextInt(200)));
+            BigDecimal currentPrice = random.nextBoolean() ? null : BigDecimal.valueOf(20 + random.nextInt(2000), 2);
+            int period = 2 + random.nextInt(54);
+
+            IndicatorEvaluator evaluator = IndicatorEvaluator.create(priceSeries, currentPrice,
+                    Arrays.asList(IndicatorSpec.sma(period), IndicatorSpec.ema(period), IndicatorSpec.rsi(period)));
+
+            assertEquals(SimpleMovingAverage.create(priceSeries, currentPrice, period).getLastResult(),
+                    evaluator.getResult(IndicatorSpec.sma(period)), SkvirrelTestUtils.DELTA);
+            assertEquals(ExponentialMovingAverage.create(priceSeries, currentPrice, period).getLastResult(),
+                    evaluator.getResult(IndicatorSpec.ema(period)), SkvirrelTestUtils.DELTA);
+            assertEquals(RelativeStrengthIndex.create(priceSeries, currentPrice, period).getLastResult(),
+                    evaluator.getResult(IndicatorSpec.rsi(period)), SkvirrelTestUtils.DELTA);
+        }
+    }
+
+    @Test
+    public void testCreateException() {
+        PriceSeries priceSeries = PriceSeries.from(SkvirrelTestUtils.getMockedHistoricalQuotes());
+
+        try {
+            IndicatorEvaluator.create(null, null, INDICATOR_SPECS);
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+
+        try {
+            IndicatorEvaluator.create(priceSeries, null, Collections.emptyList());
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+
+        try {
+            IndicatorEvaluator.create(priceSeries, null, Collections.singletonList(IndicatorSpec.ema(20)));
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+
+        try {
+            IndicatorEvaluator.create(priceSeries, null, Collections.singletonList(IndicatorSpec.rsi(0)));
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+
+        try {
+            IndicatorEvaluator.create(priceSeries, null, INDICATOR_SPECS).getResult(IndicatorSpec.ema(20));
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+    }
+}
@@ -12,6 +12,7 @@ import yahoofinance.histquotes.HistoricalQuote;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(JUnit4.class)
 public class IndicatorUtilsTest {
@@ -40,5 +41,37 @@ public class IndicatorUtilsTest {
         assertEquals(size, result.size());
         assertEquals(historicalQuotes.get(1).getClose(), result.get(0).getClose());
         assertEquals(currentPrice, result.get(size - 1).getClose());
+
+        // given historical quotes are left untouched
+        assertEquals(size, historicalQuotes.size());
+        assertEquals(BigDecimal.valueOf(34.82), historicalQuotes.get(0).getClose());
+        assertEquals(historicalQuotes.get(size - 1), result.get(size - 2));
+    }
+
+    @Test
+    public void handleCurrentPricePriceSeriesTest() {
+        PriceSeries priceSeries = PriceSeries.from(SkvirrelTestUtils.getMockedHistoricalQuotes());
+        int size = priceSeries.size();
+        BigDecimal currentPrice = BigDecimal.valueOf(34.9836);
+
+        // current price is null
+        PriceSeries result = IndicatorUtils.handleCurrentPrice(priceSeries, null);
+        assertSame(priceSeries, result);
+
+        // current price is same as last quotes
+        result = IndicatorUtils.handleCurrentPrice(priceSeries, BigDecimal.valueOf(priceSeries.getClose(size - 1)));
+        assertSame(priceSeries, result);
+
+        // current price differs from last quotes
+        result = IndicatorUtils.handleCurrentPrice(priceSeries, currentPrice);
+        assertNotNull(result);
+        assertEquals(size, result.size());
+        assertEquals(priceSeries.getClose(1), result.getClose(0), SkvirrelTestUtils.DELTA);
+        assertEquals(priceSeries.getClose(size - 1), result.getClose(size - 2), SkvirrelTestUtils.DELTA);
+        assertEquals(currentPrice.doubleValue(), result.getClose(size - 1), SkvirrelTestUtils.DELTA);
+        assertEquals(PriceSeries.MISSING_EPOCH_DAY, result.getEpochDay(size - 1));
+
+        // given price series is left untouched
+        assertEquals(34.82, priceSeries.getClose(0), SkvirrelTestUtils.DELTA);
     }
 }
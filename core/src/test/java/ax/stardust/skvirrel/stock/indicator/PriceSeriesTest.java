@@ -0,0 +1,91 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
+import yahoofinance.histquotes.HistoricalQuote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class PriceSeriesTest {
+
+    @Test
+    public void testFrom() {
+        List<HistoricalQuote> historicalQuotes = SkvirrelTestUtils.getMockedHistoricalQuotes();
+        PriceSeries priceSeries = PriceSeries.from(historicalQuotes);
+
+        assertEquals(historicalQuotes.size(), priceSeries.size());
+        for (int i = 0; i < historicalQuotes.size(); i++) {
+            assertEquals(historicalQuotes.get(i).getClose().doubleValue(), priceSeries.getClose(i), SkvirrelTestUtils.DELTA);
+        }
+
+        // missing values in mocked quotes
+        assertEquals(Double.NaN, priceSeries.getOpen(0), SkvirrelTestUtils.DELTA);
+        assertEquals(Double.NaN, priceSeries.getHigh(0), SkvirrelTestUtils.DELTA);
+        assertEquals(Double.NaN, priceSeries.getLow(0), SkvirrelTestUtils.DELTA);
+        assertEquals(PriceSeries.MISSING_EPOCH_DAY, priceSeries.getEpochDay(0));
+
+        HistoricalQuote historicalQuote = new HistoricalQuote();
+        historicalQuote.setDate(new GregorianCalendar(2021, Calendar.MARCH, 12));
+        historicalQuote.setOpen(BigDecimal.valueOf(34.12));
+        historicalQuote.setHigh(BigDecimal.valueOf(35.91));
+        historicalQuote.setLow(BigDecimal.valueOf(33.87));
+        historicalQuote.setClose(BigDecimal.valueOf(35.02));
+
+        priceSeries = PriceSeries.from(Collections.singletonList(historicalQuote));
+        assertEquals(1, priceSeries.size());
+        assertEquals(34.12, priceSeries.getOpen(0), SkvirrelTestUtils.DELTA);
+        assertEquals(35.91, priceSeries.getHigh(0), SkvirrelTestUtils.DELTA);
+        assertEquals(33.87, priceSeries.getLow(0), SkvirrelTestUtils.DELTA);
+        assertEquals(35.02, priceSeries.getClose(0), SkvirrelTestUtils.DELTA);
+        assertEquals(LocalDate.of(2021, 3, 12).toEpochDay(), priceSeries.getEpochDay(0));
+    }
+
+    @Test
+    public void testShift() {
+        PriceSeries priceSeries = PriceSeries.from(SkvirrelTestUtils.getMockedHistoricalQuotes());
+        int size = priceSeries.size();
+
+        PriceSeries shifted = priceSeries.shift(35.12);
+        assertEquals(size, shifted.size());
+        for (int i = 0; i < size - 1; i++) {
+            assertEquals(priceSeries.getClose(i + 1), shifted.getClose(i), SkvirrelTestUtils.DELTA);
+        }
+        assertEquals(35.12, shifted.getClose(size - 1), SkvirrelTestUtils.DELTA);
+        assertEquals(Double.NaN, shifted.getOpen(size - 1), SkvirrelTestUtils.DELTA);
+        assertEquals(PriceSeries.MISSING_EPOCH_DAY, shifted.getEpochDay(size - 1));
+
+        // shifting a shifted price series keeps the previous current price
+        PriceSeries shiftedTwice = shifted.shift(35.43);
+        assertEquals(size, shiftedTwice.size());
+        assertEquals(priceSeries.getClose(2), shiftedTwice.getClose(0), SkvirrelTestUtils.DELTA);
+        assertEquals(35.12, shiftedTwice.getClose(size - 2), SkvirrelTestUtils.DELTA);
+        assertEquals(35.43, shiftedTwice.getClose(size - 1), SkvirrelTestUtils.DELTA);
+
+        // original price series is left untouched
+        assertEquals(34.82, priceSeries.getClose(0), SkvirrelTestUtils.DELTA);
+        assertEquals(35.12, shifted.getClose(size - 1), SkvirrelTestUtils.DELTA);
+    }
+
+    @Test
+    public void testFromException() {
+        try {
+            PriceSeries.from(null);
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+    }
+}
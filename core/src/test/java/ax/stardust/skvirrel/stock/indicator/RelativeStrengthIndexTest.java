@@ -6,9 +6,11 @@ import org.junit.runners.JUnit4;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
 
 import ax.stardust.skvirrel.exception.IndicatorException;
 import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
+import yahoofinance.histquotes.HistoricalQuote;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
@@ -44,7 +46,7 @@ public class RelativeStrengthIndexTest {
     @Test
     public void testCreateException() {
         try {
-            RelativeStrengthIndex.create(null, null, 14);
+            RelativeStrengthIndex.create((List<HistoricalQuote>) null, null, 14);
             fail("Exception should have been thrown");
         } catch (IndicatorException ignore) {
             // exception is expected
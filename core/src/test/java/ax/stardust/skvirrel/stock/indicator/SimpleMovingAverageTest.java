@@ -6,9 +6,11 @@ import org.junit.runners.JUnit4;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
 
 import ax.stardust.skvirrel.exception.IndicatorException;
 import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
+import yahoofinance.histquotes.HistoricalQuote;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
@@ -45,7 +47,7 @@ public class SimpleMovingAverageTest {
     @Test
     public void testCreateException() {
         try {
-            SimpleMovingAverage.create(null, BigDecimal.valueOf(35.89), 14);
+            SimpleMovingAverage.create((List<HistoricalQuote>) null, BigDecimal.valueOf(35.89), 14);
             fail("Exception should have been thrown");
         } catch (IndicatorException ignore) {
             // exception is expected
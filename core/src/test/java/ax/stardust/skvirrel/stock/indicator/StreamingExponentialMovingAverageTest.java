@@ -0,0 +1,68 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
+import yahoofinance.histquotes.HistoricalQuote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class StreamingExponentialMovingAverageTest {
+
+    @Test
+    public void testUpdate() {
+        List<HistoricalQuote> historicalQuotes = SkvirrelTestUtils.getMockedHistoricalQuotes();
+        double[] results = ExponentialMovingAverage.create(historicalQuotes, null, 14).getResults();
+
+        StreamingExponentialMovingAverage ema = new StreamingExponentialMovingAverage(14);
+        assertFalse(ema.isReady());
+
+        for (int i = 0; i < historicalQuotes.size(); i++) {
+            ema.update(historicalQuotes.get(i).getClose().doubleValue());
+            assertEquals(results[i], ema.getValue(), SkvirrelTestUtils.DELTA);
+        }
+
+        assertTrue(ema.isReady());
+        assertEquals(35.37, ema.getValue(), SkvirrelTestUtils.DELTA);
+    }
+
+    @Test
+    public void testPeek() {
+        List<HistoricalQuote> historicalQuotes = SkvirrelTestUtils.getMockedHistoricalQuotes();
+
+        // indicator leaves out the oldest quote when current price is taken into account
+        StreamingExponentialMovingAverage ema = new StreamingExponentialMovingAverage(19);
+        for (int i = 1; i < historicalQuotes.size(); i++) {
+            ema.update(historicalQuotes.get(i).getClose().doubleValue());
+        }
+
+        // peeking should not change the state of the indicator
+        assertEquals(35.17, ema.getValue(), SkvirrelTestUtils.DELTA);
+        assertEquals(35.23, ema.peek(35.74), SkvirrelTestUtils.DELTA);
+        assertEquals(35.23, ema.peek(35.74), SkvirrelTestUtils.DELTA);
+
+        double expected = ExponentialMovingAverage.create(SkvirrelTestUtils.getMockedHistoricalQuotes(),
+                BigDecimal.valueOf(35.74), 19).getLastResult();
+        assertEquals(expected, ema.peek(35.74), SkvirrelTestUtils.DELTA);
+    }
+
+    @Test
+    public void testCreateException() {
+        try {
+            new StreamingExponentialMovingAverage(-1);
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+    }
+}
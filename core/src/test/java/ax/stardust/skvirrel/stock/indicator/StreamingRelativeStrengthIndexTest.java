@@ -0,0 +1,66 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
+import yahoofinance.histquotes.HistoricalQuote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class StreamingRelativeStrengthIndexTest {
+
+    @Test
+    public void testUpdate() {
+        List<HistoricalQuote> historicalQuotes = SkvirrelTestUtils.getMockedHistoricalQuotes();
+        double[] results = RelativeStrengthIndex.create(historicalQuotes, null, 14).getResults();
+
+        StreamingRelativeStrengthIndex rsi = new StreamingRelativeStrengthIndex(14);
+        assertFalse(rsi.isReady());
+
+        for (int i = 0; i < historicalQuotes.size(); i++) {
+            rsi.update(historicalQuotes.get(i).getClose().doubleValue());
+            assertEquals(results[i], rsi.getValue(), SkvirrelTestUtils.DELTA);
+        }
+
+        assertTrue(rsi.isReady());
+        assertEquals(56.72, rsi.getValue(), SkvirrelTestUtils.DELTA);
+    }
+
+    @Test
+    public void testPeek() {
+        List<HistoricalQuote> historicalQuotes = SkvirrelTestUtils.getMockedHistoricalQuotes();
+
+        // indicator leaves out the oldest quote when current price is taken into account
+        StreamingRelativeStrengthIndex rsi = new StreamingRelativeStrengthIndex(14);
+        for (int i = 1; i < historicalQuotes.size(); i++) {
+            rsi.update(historicalQuotes.get(i).getClose().doubleValue());
+        }
+
+        // peeking should not change the state of the indicator
+        assertEquals(60.91, rsi.getValue(), SkvirrelTestUtils.DELTA);
+        assertEquals(64.2, rsi.peek(35.89), SkvirrelTestUtils.DELTA);
+        assertEquals(64.2, rsi.peek(35.89), SkvirrelTestUtils.DELTA);
+
+        rsi.update(35.89);
+        assertEquals(64.2, rsi.getValue(), SkvirrelTestUtils.DELTA);
+    }
+
+    @Test
+    public void testCreateException() {
+        try {
+            new StreamingRelativeStrengthIndex(0);
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+    }
+}
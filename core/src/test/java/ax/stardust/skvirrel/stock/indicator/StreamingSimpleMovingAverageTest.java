@@ -0,0 +1,66 @@
+package ax.stardust.skvirrel.stock.indicator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+
+import ax.stardust.skvirrel.exception.IndicatorException;
+import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
+import yahoofinance.histquotes.HistoricalQuote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class StreamingSimpleMovingAverageTest {
+
+    @Test
+    public void testUpdate() {
+        List<HistoricalQuote> historicalQuotes = SkvirrelTestUtils.getMockedHistoricalQuotes();
+        double[] results = SimpleMovingAverage.create(historicalQuotes, 14).getResults();
+
+        StreamingSimpleMovingAverage sma = new StreamingSimpleMovingAverage(14);
+        assertFalse(sma.isReady());
+
+        for (int i = 0; i < historicalQuotes.size(); i++) {
+            sma.update(historicalQuotes.get(i).getClose().doubleValue());
+            assertEquals(results[i], sma.getValue(), SkvirrelTestUtils.DELTA);
+        }
+
+        assertTrue(sma.isReady());
+        assertEquals(35.38, sma.getValue(), SkvirrelTestUtils.DELTA);
+    }
+
+    @Test
+    public void testPeek() {
+        List<HistoricalQuote> historicalQuotes = SkvirrelTestUtils.getMockedHistoricalQuotes();
+
+        StreamingSimpleMovingAverage sma = new StreamingSimpleMovingAverage(20);
+        for (int i = 0; i < historicalQuotes.size() - 1; i++) {
+            assertEquals(0.00, sma.peek(35.89), SkvirrelTestUtils.DELTA);
+            sma.update(historicalQuotes.get(i).getClose().doubleValue());
+        }
+
+        // peeking should not change the state of the indicator
+        assertEquals(0.00, sma.getValue(), SkvirrelTestUtils.DELTA);
+        assertEquals(35.17, sma.peek(35.89), SkvirrelTestUtils.DELTA);
+        assertEquals(35.17, sma.peek(35.89), SkvirrelTestUtils.DELTA);
+
+        sma.update(35.89);
+        assertEquals(35.17, sma.getValue(), SkvirrelTestUtils.DELTA);
+    }
+
+    @Test
+    public void testCreateException() {
+        try {
+            new StreamingSimpleMovingAverage(0);
+            fail("Exception should have been thrown");
+        } catch (IndicatorException ignore) {
+            // exception is expected
+        }
+    }
+}
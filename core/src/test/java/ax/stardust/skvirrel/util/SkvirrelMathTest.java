@@ -0,0 +1,119 @@
+package ax.stardust.skvirrel.util;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Random;
+
+import ax.stardust.skvirrel.test.util.SkvirrelTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class SkvirrelMathTest {
+
+    // number of random values in the differential tests, each rounded with zero to four decimals
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    public void testRound() {
+        assertEquals(1.00, SkvirrelMath.round(1), SkvirrelTestUtils.DELTA);
+        assertEquals(-1.00, SkvirrelMath.round(-1), SkvirrelTestUtils.DELTA);
+        assertEquals(1000.00, SkvirrelMath.round(999.999), SkvirrelTestUtils.DELTA);
+        assertEquals(89.95, SkvirrelMath.round(89.951), SkvirrelTestUtils.DELTA);
+        assertEquals(89.96, SkvirrelMath.round(89.956), SkvirrelTestUtils.DELTA);
+        assertEquals(0.13, SkvirrelMath.round(0.125), SkvirrelTestUtils.DELTA);
+        assertEquals(-0.13, SkvirrelMath.round(-0.125), SkvirrelTestUtils.DELTA);
+        assertEquals(1.0, SkvirrelMath.round(1.005), SkvirrelTestUtils.DELTA); // 1.005 is 1.00499999...
+        assertEquals(2.675, SkvirrelMath.round(2.6745, SkvirrelMath.THREE_DECIMALS), SkvirrelTestUtils.DELTA);
+
+        // zero is always positive
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(SkvirrelMath.round(-0.001)));
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(SkvirrelMath.round(-0.0)));
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(SkvirrelMath.round(Double.MIN_VALUE)));
+    }
+
+    @Test
+    public void testRoundException() {
+        for (double value : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            try {
+                SkvirrelMath.round(value);
+                fail("Exception should have been thrown");
+            } catch (NumberFormatException ignore) {
+                // exception is expected
+            }
+        }
+    }
+
+    @Test
+    public void testRoundSameAsBigDecimalForPrices() {
+        Random random = new Random(42);
+
+        // prices with more decimals than rounded to, as calculated by the indicators
+        for (int i = 0; i < ITERATIONS; i++) {
+            double value = random.nextDouble() * 1000 * (random.nextBoolean() ? 1 : -1);
+            assertRoundSameAsBigDecimal(value);
+        }
+    }
+
+    @Test
+    public void testRoundSameAsBigDecimalForHalves() {
+        Random random = new Random(4711);
+
+        // values at or right next to a rounding boundary, where rounding is most likely to go wrong
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            double value = (random.nextInt(20_000_000) * 2 + 1) / 2000.0;
+            assertRoundSameAsBigDecimal(value);
+            assertRoundSameAsBigDecimal(Math.nextUp(value));
+            assertRoundSameAsBigDecimal(Math.nextDown(value));
+            assertRoundSameAsBigDecimal(-value);
+        }
+    }
+
+    @Test
+    public void testRoundSameAsBigDecimalForAnyDouble() {
+        Random random = new Random(1337);
+
+        // any finite double, including huge, tiny and subnormal values. Big decimals of these
+        // values are slow to create, hence fewer iterations
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+                assertRoundSameAsBigDecimal(value);
+            }
+        }
+
+        // values around the limit where big decimal takes over
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            double value = random.nextDouble() * 1e12;
+            assertRoundSameAsBigDecimal(value);
+        }
+    }
+
+    @Test
+    public void testEquals() {
+        assertTrue(SkvirrelMath.equals(0.0, -0.0));
+        assertTrue(SkvirrelMath.equals(1.0, 1.0004));
+        assertTrue(SkvirrelMath.equals(-23.987645, -23.987643));
+        assertTrue(SkvirrelMath.equals(23.98765, 23.987643));
+        assertFalse(SkvirrelMath.equals(23.98765, 23.983643));
+        assertFalse(SkvirrelMath.equals(-23.18765, 23.983643));
+    }
+
+    private static void assertRoundSameAsBigDecimal(double value) {
+        for (int numberOfDecimals = 0; numberOfDecimals <= 4; numberOfDecimals++) {
+            double expected = SkvirrelMath.roundBigDecimal(value, numberOfDecimals);
+            double actual = SkvirrelMath.round(value, numberOfDecimals);
+
+            // compare bits, not only value, to catch any difference in sign of zero
+            if (Double.doubleToLongBits(expected) != Double.doubleToLongBits(actual)) {
+                fail(String.format("Rounding of %s to %d decimals gave %s, expected %s",
+                        value, numberOfDecimals, actual, expected));
+            }
+        }
+    }
+}